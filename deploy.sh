@@ -1,8 +1,9 @@
 #!/bin/bash
 
-./gradlew clean build
+./gradlew clean build buildSnapshot
 rm -rf release
 mkdir release
 cp build/libs/quranic-corpus-api-1.0.0-all.jar release/quranic-corpus-api.jar
+cp build/snapshot/corpus.snapshot release/corpus.snapshot
 cp prod/* release
 scp -i ../../dev/keys/fasthosts -r release/* admin-user@hunna.app:/var/www/qurancorpus.app/services
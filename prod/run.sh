@@ -1,3 +1,3 @@
 #!/bin/bash
 
-java -jar quranic-corpus-api.jar >/dev/null 2>&1 &
+java -Dcorpus.snapshot.path=corpus.snapshot -jar quranic-corpus-api.jar >/dev/null 2>&1 &
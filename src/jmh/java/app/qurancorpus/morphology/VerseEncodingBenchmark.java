@@ -0,0 +1,97 @@
+package app.qurancorpus.morphology;
+
+import app.qurancorpus.arabic.encoding.phonetic.PhoneticService;
+import app.qurancorpus.http.Cbor;
+import app.qurancorpus.lexicography.LemmaService;
+import app.qurancorpus.metrics.Metrics;
+import app.qurancorpus.orthography.DocumentLoader;
+import app.qurancorpus.orthography.LocationService;
+import app.qurancorpus.orthography.TokenResponse;
+import app.qurancorpus.orthography.VerseResponse;
+import app.qurancorpus.snapshot.CorpusSnapshot;
+import app.qurancorpus.translation.TranslationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_EMPTY;
+import static java.text.MessageFormat.format;
+
+// Compares the size and encode/decode time of /morphology payloads for whole
+// chapters, as JSON and as CBOR with the same schema.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VerseEncodingBenchmark {
+
+    // short, long and mid-length chapters
+    @Param({"1", "2", "18"})
+    public int chapterNumber;
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private VerseResponse[] verses;
+    private byte[] json;
+    private byte[] cbor;
+
+    @Setup
+    public void setup() throws Exception {
+        jsonMapper = new ObjectMapper().setSerializationInclusion(NON_EMPTY);
+        cborMapper = new CBORMapper().setSerializationInclusion(NON_EMPTY);
+
+        var snapshot = new CorpusSnapshot("");
+        var document = new DocumentLoader(snapshot).load();
+        var locationService = new LocationService(document);
+        var morphologyGraph = new MorphologyLoader(document, locationService, new LemmaService(), snapshot).load();
+        var tokenTransformer = new TokenTransformer();
+        tokenTransformer.locationService = locationService;
+        tokenTransformer.translationService = new TranslationService(document, jsonMapper);
+        tokenTransformer.morphologyGraph = morphologyGraph;
+        tokenTransformer.phoneticService = new PhoneticService(document, locationService, morphologyGraph);
+        tokenTransformer.metrics = new Metrics();
+
+        var chapterVerses = document.children()[chapterNumber - 1].verses();
+        verses = new VerseResponse[chapterVerses.length];
+        for (var i = 0; i < chapterVerses.length; i++) {
+            var tokens = chapterVerses[i].tokens();
+            var tokenResponses = new TokenResponse[tokens.length];
+            for (var j = 0; j < tokens.length; j++) {
+                tokenResponses[j] = tokenTransformer.getTokenResponse(tokens[j], false);
+            }
+            verses[i] = new VerseResponse(chapterVerses[i].location().toArray(), tokenResponses, null, null);
+        }
+
+        json = jsonMapper.writeValueAsBytes(verses);
+        cbor = cborMapper.writeValueAsBytes(verses);
+        System.out.println(format(
+                "\nChapter {0}: JSON {1} bytes, CBOR {2} bytes",
+                chapterNumber, json.length, cbor.length));
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws Exception {
+        return jsonMapper.writeValueAsBytes(verses);
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() throws Exception {
+        return cborMapper.writeValueAsBytes(verses);
+    }
+
+    @Benchmark
+    public byte[] transcodeCbor() {
+        return Cbor.toCbor(json);
+    }
+
+    @Benchmark
+    public VerseResponse[] decodeJson() throws Exception {
+        return jsonMapper.readValue(json, VerseResponse[].class);
+    }
+
+    @Benchmark
+    public VerseResponse[] decodeCbor() throws Exception {
+        return cborMapper.readValue(cbor, VerseResponse[].class);
+    }
+}
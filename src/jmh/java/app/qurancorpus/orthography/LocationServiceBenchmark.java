@@ -0,0 +1,84 @@
+package app.qurancorpus.orthography;
+
+import app.qurancorpus.snapshot.CorpusSnapshot;
+import memseqdb.Seq;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+// Compares the arithmetic LocationService with the previous lookup through memseqdb sequences.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LocationServiceBenchmark {
+    private LocationService locationService;
+    private Seq<Location> verseSequenceNumbers;
+    private Seq<Location> tokenSequenceNumbers;
+    private Location[] verseLocations;
+    private Location[] tokenLocations;
+
+    @Setup
+    public void setup() throws Exception {
+        var document = new DocumentLoader(new CorpusSnapshot("")).load();
+        locationService = new LocationService(document);
+
+        var verseLocations = new ArrayList<Location>();
+        var tokenLocations = new ArrayList<Location>();
+        for (var chapter : document.children()) {
+            for (var verse : chapter.verses()) {
+                verseLocations.add(verse.location());
+                for (var token : verse.tokens()) {
+                    tokenLocations.add(token.location());
+                }
+            }
+        }
+        verseSequenceNumbers = new Seq<>(verseLocations);
+        tokenSequenceNumbers = new Seq<>(tokenLocations);
+
+        // copies, so that lookups cannot short-circuit on identity
+        this.verseLocations = verseLocations.stream()
+                .map(x -> new Location(x.chapterNumber(), x.verseNumber()))
+                .toArray(Location[]::new);
+        this.tokenLocations = tokenLocations.stream()
+                .map(x -> new Location(x.chapterNumber(), x.verseNumber(), x.tokenNumber()))
+                .toArray(Location[]::new);
+    }
+
+    @Benchmark
+    public void seqVerseSequenceNumbers(Blackhole blackhole) {
+        for (var location : verseLocations) {
+            blackhole.consume(verseSequenceNumbers.getSequenceNumber(location));
+        }
+    }
+
+    @Benchmark
+    public void arithmeticVerseSequenceNumbers(Blackhole blackhole) {
+        for (var location : verseLocations) {
+            blackhole.consume(locationService.getVerseSequenceNumber(location));
+        }
+    }
+
+    @Benchmark
+    public void seqTokenSequenceNumbers(Blackhole blackhole) {
+        for (var location : tokenLocations) {
+            blackhole.consume(tokenSequenceNumbers.getSequenceNumber(location));
+        }
+    }
+
+    @Benchmark
+    public void arithmeticTokenSequenceNumbers(Blackhole blackhole) {
+        for (var location : tokenLocations) {
+            blackhole.consume(locationService.getTokenSequenceNumber(location));
+        }
+    }
+
+    @Benchmark
+    public void tokenLocations(Blackhole blackhole) {
+        var tokenCount = tokenLocations.length;
+        for (var i = 1; i <= tokenCount; i++) {
+            blackhole.consume(locationService.getTokenLocation(i));
+        }
+    }
+}
@@ -1,10 +1,23 @@
 package app.qurancorpus;
 
+import app.qurancorpus.http.EncodedBody;
 import app.qurancorpus.orthography.OrthographyService;
 import app.qurancorpus.translation.TranslationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpResponse;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Header;
+import io.micronaut.http.annotation.Produces;
+import io.netty.buffer.ByteBuf;
 import jakarta.inject.Inject;
+import lombok.SneakyThrows;
+
+import static app.qurancorpus.http.Cbor.APPLICATION_CBOR;
+import static io.micronaut.http.HttpHeaders.ACCEPT;
+import static io.micronaut.http.HttpHeaders.ACCEPT_ENCODING;
+import static io.micronaut.http.MediaType.APPLICATION_JSON;
 
 @Controller("/metadata")
 public class MetadataController {
@@ -15,10 +28,30 @@ public class MetadataController {
     @Inject
     TranslationService translationService;
 
+    @Inject
+    ObjectMapper objectMapper;
+
+    // Metadata never changes, so is serialized and compressed once.
+    private volatile EncodedBody metadata;
+
     @Get
-    public MetadataResponse getMetadata() {
-        return new MetadataResponse(
-                orthographyService.getChapters(),
-                translationService.getMetadata());
+    @Produces({APPLICATION_JSON, APPLICATION_CBOR})
+    public HttpResponse<ByteBuf> getMetadata(
+            @Nullable @Header(ACCEPT) String accept,
+            @Nullable @Header(ACCEPT_ENCODING) String acceptEncoding) {
+
+        return getMetadataBody().toResponse(accept, acceptEncoding);
+    }
+
+    @SneakyThrows
+    private EncodedBody getMetadataBody() {
+        var body = metadata;
+        if (body == null) {
+            body = EncodedBody.encode(objectMapper.writeValueAsBytes(new MetadataResponse(
+                    orthographyService.getChapters(),
+                    translationService.getMetadata())));
+            metadata = body;
+        }
+        return body;
     }
-}
\ No newline at end of file
+}
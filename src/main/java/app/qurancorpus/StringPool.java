@@ -0,0 +1,40 @@
+package app.qurancorpus;
+
+import static java.lang.System.arraycopy;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+// An immutable list of strings packed into a single UTF-8 buffer, indexed by
+// an offset table. Far more compact than a String[] for many short strings.
+public class StringPool {
+    private final byte[] buffer;
+    private final int[] offsets;
+
+    public StringPool(String[] strings) {
+        var count = strings.length;
+        var encoded = new byte[count][];
+        var size = 0;
+        for (var i = 0; i < count; i++) {
+            encoded[i] = strings[i].getBytes(UTF_8);
+            size += encoded[i].length;
+        }
+
+        buffer = new byte[size];
+        offsets = new int[count + 1];
+        var offset = 0;
+        for (var i = 0; i < count; i++) {
+            offsets[i] = offset;
+            arraycopy(encoded[i], 0, buffer, offset, encoded[i].length);
+            offset += encoded[i].length;
+        }
+        offsets[count] = offset;
+    }
+
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    public String get(int index) {
+        var offset = offsets[index];
+        return new String(buffer, offset, offsets[index + 1] - offset, UTF_8);
+    }
+}
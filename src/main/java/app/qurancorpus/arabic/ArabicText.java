@@ -1,6 +1,7 @@
 package app.qurancorpus.arabic;
 
 import static app.qurancorpus.arabic.CharacterType.CHARACTER_TYPES;
+import static java.lang.System.arraycopy;
 
 public class ArabicText {
     public static final int[] DIACRITIC_OFFSETS = {1, 1, 1, 1, 1, 1, 1, 1, 2, 2, 2, 2, 2};
@@ -101,6 +102,16 @@ public class ArabicText {
         return new ArabicText(buffer, offset + start * CHARACTER_WIDTH, end - start);
     }
 
+    void copyTo(byte[] buffer, int offset) {
+        arraycopy(this.buffer, this.offset, buffer, offset, characterCount * CHARACTER_WIDTH);
+    }
+
+    public byte[] toByteArray() {
+        var buffer = new byte[characterCount * CHARACTER_WIDTH];
+        arraycopy(this.buffer, offset, buffer, 0, buffer.length);
+        return buffer;
+    }
+
     public ArabicText removeDiacritics() {
         var buffer = new byte[characterCount * CHARACTER_WIDTH];
         var offset1 = 0;
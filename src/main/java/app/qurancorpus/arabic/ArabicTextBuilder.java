@@ -27,6 +27,13 @@ public class ArabicTextBuilder {
         setDiacritic(characterCount - 1, diacriticType);
     }
 
+    public void add(ArabicText arabicText) {
+        var length = arabicText.getLength();
+        checkCapacity(length);
+        arabicText.copyTo(buffer, characterCount * CHARACTER_WIDTH);
+        characterCount += length;
+    }
+
     public void addWhitespace() {
         add((CharacterType) null);
     }
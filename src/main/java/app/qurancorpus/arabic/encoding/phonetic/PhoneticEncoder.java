@@ -22,6 +22,12 @@ public class PhoneticEncoder {
         phonetic = new StringBuilder();
         var isLastDeterminer = false;
 
+        // Part of speech for special tokens.
+        var token = context.token();
+        var partOfSpeech = token != null
+                ? getStem(context.morphologyGraph().query(token)).getPartOfSpeech()
+                : null;
+
         // Encode each letter with diacritics.
         var characterCount = arabicText.getLength();
         for (index = 0; index < characterCount; index++) {
@@ -41,11 +47,7 @@ public class PhoneticEncoder {
                     : -1;
 
             // Encode special tokens.
-            var token = context.token();
             if (token != null) {
-                var morphologyGraph = context.morphologyGraph();
-                var segments = morphologyGraph.query(token);
-                var partOfSpeech = getStem(segments).getPartOfSpeech();
                 var phonemes = encodeToken(partOfSpeech);
                 if (phonemes != null) {
                     phonetic.append(phonemes);
@@ -0,0 +1,32 @@
+package app.qurancorpus.arabic.encoding.phonetic;
+
+import app.qurancorpus.StringPool;
+import app.qurancorpus.morphology.MorphologyGraph;
+import app.qurancorpus.orthography.Document;
+import app.qurancorpus.orthography.LocationService;
+
+import static app.qurancorpus.arabic.encoding.phonetic.PhoneticEncoder.toPhonetic;
+import static java.util.stream.IntStream.range;
+
+public class PhoneticService {
+    private final StringPool phonetic;
+
+    public PhoneticService(
+            Document document,
+            LocationService locationService,
+            MorphologyGraph morphologyGraph) {
+
+        // The phonetic form of each token is deterministic, so is encoded once.
+        var tokenCount = document.tokenCount();
+        var phonetic = new String[tokenCount];
+        range(0, tokenCount).parallel().forEach(i -> {
+            var token = locationService.getToken(i + 1);
+            phonetic[i] = toPhonetic(new PhoneticContext(morphologyGraph, token), token.arabicText());
+        });
+        this.phonetic = new StringPool(phonetic);
+    }
+
+    public String getPhonetic(int tokenSequenceNumber) {
+        return phonetic.get(tokenSequenceNumber - 1);
+    }
+}
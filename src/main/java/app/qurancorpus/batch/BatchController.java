@@ -0,0 +1,116 @@
+package app.qurancorpus.batch;
+
+import app.qurancorpus.json.JsonFragments;
+import app.qurancorpus.metrics.Metrics;
+import app.qurancorpus.morphology.TokenTransformer;
+import app.qurancorpus.orthography.Document;
+import app.qurancorpus.syntax.GraphRenderer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.annotation.Body;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Post;
+import io.micronaut.http.exceptions.HttpStatusException;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+import io.netty.buffer.ByteBuf;
+import jakarta.inject.Inject;
+import lombok.SneakyThrows;
+
+import static app.qurancorpus.json.JsonFragments.*;
+import static app.qurancorpus.metrics.Stage.LocationParsing;
+import static app.qurancorpus.metrics.Stage.Serialization;
+import static app.qurancorpus.orthography.Location.parseLocation;
+import static io.micronaut.http.HttpStatus.BAD_REQUEST;
+
+// Answers many /morphology/word and /syntax queries in one request. The
+// response has the same form as BatchResponse, with results in request order
+// and null for graphs that don't exist.
+@Controller("/batch")
+public class BatchController {
+    private static final byte[] WORDS = bytes("\"words\":");
+    private static final byte[] GRAPHS = bytes("\"graphs\":");
+    private static final byte[] NULL = bytes("null");
+
+    @Inject
+    Document document;
+
+    @Inject
+    TokenTransformer tokenTransformer;
+
+    @Inject
+    GraphRenderer graphRenderer;
+
+    @Inject
+    BatchExecutor batchExecutor;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    Metrics metrics;
+
+    @Value("${corpus.batch.max-size:100}")
+    int maxSize;
+
+    // The request thread waits for the batch, so must not be an event loop.
+    @Post
+    @ExecuteOn(TaskExecutors.IO)
+    public HttpResponse<ByteBuf> getBatch(@Body BatchRequest request) {
+        var words = request.words() != null ? request.words() : new String[0];
+        var graphs = request.graphs() != null ? request.graphs() : new GraphQuery[0];
+        var wordCount = words.length;
+        if (wordCount + graphs.length > maxSize) {
+            throw new HttpStatusException(BAD_REQUEST, "Request too long.");
+        }
+
+        var results = batchExecutor.map(
+                wordCount + graphs.length,
+                i -> i < wordCount ? getWord(words[i]) : getGraph(graphs[i - wordCount]));
+
+        // Empty arrays are left out, as Jackson does for other responses.
+        var json = new JsonFragments();
+        json.add(OPEN_OBJECT);
+        if (wordCount > 0) {
+            json.add(WORDS);
+            writeArray(json, results, 0, wordCount);
+        }
+        if (graphs.length > 0) {
+            if (wordCount > 0) {
+                json.add(COMMA);
+            }
+            json.add(GRAPHS);
+            writeArray(json, results, wordCount, results.length);
+        }
+        json.add(CLOSE_OBJECT);
+        return HttpResponse.ok(json.toByteBuf());
+    }
+
+    @SneakyThrows
+    private byte[] getWord(String location) {
+        var token = document.getToken(metrics.time(LocationParsing, () -> parseLocation(location)));
+        var response = tokenTransformer.getWordMorphologyResponse(token);
+        var start = metrics.start();
+        var json = objectMapper.writeValueAsBytes(response);
+        metrics.record(Serialization, start);
+        return json;
+    }
+
+    private byte[] getGraph(GraphQuery query) {
+        var location = metrics.time(LocationParsing, () -> parseLocation(query.location()));
+        var graph = graphRenderer.render(location, query.graph());
+        return graph != null ? graph.toByteArray() : NULL;
+    }
+
+    private static void writeArray(JsonFragments json, byte[][] results, int start, int end) {
+        json.add(OPEN_ARRAY);
+        for (var i = start; i < end; i++) {
+            if (i > start) {
+                json.add(COMMA);
+            }
+            json.add(results[i]);
+        }
+        json.add(CLOSE_ARRAY);
+    }
+}
@@ -0,0 +1,34 @@
+package app.qurancorpus.batch;
+
+import io.micronaut.context.annotation.Value;
+import jakarta.annotation.PreDestroy;
+import jakarta.inject.Singleton;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+// Runs batch items on a dedicated pool, so that a large batch can't take
+// every core from other requests.
+@Singleton
+public class BatchExecutor {
+    private final ForkJoinPool pool;
+
+    public BatchExecutor(@Value("${corpus.batch.parallelism:0}") int parallelism) {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    // Results are in the same order as the items.
+    public byte[][] map(int itemCount, IntFunction<byte[]> function) {
+        return pool.submit(() -> IntStream.range(0, itemCount)
+                        .parallel()
+                        .mapToObj(function)
+                        .toArray(byte[][]::new))
+                .join();
+    }
+
+    @PreDestroy
+    public void close() {
+        pool.shutdown();
+    }
+}
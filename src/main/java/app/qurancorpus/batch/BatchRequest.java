@@ -0,0 +1,4 @@
+package app.qurancorpus.batch;
+
+public record BatchRequest(String[] words, GraphQuery[] graphs) {
+}
@@ -0,0 +1,7 @@
+package app.qurancorpus.batch;
+
+import app.qurancorpus.morphology.WordMorphologyResponse;
+import app.qurancorpus.syntax.GraphResponse;
+
+public record BatchResponse(WordMorphologyResponse[] words, GraphResponse[] graphs) {
+}
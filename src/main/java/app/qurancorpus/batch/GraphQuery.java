@@ -0,0 +1,4 @@
+package app.qurancorpus.batch;
+
+public record GraphQuery(String location, int graph) {
+}
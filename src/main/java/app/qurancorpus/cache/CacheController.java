@@ -0,0 +1,17 @@
+package app.qurancorpus.cache;
+
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import jakarta.inject.Inject;
+
+@Controller("/cache")
+public class CacheController {
+
+    @Inject
+    CacheRegistry cacheRegistry;
+
+    @Get
+    public CacheStatistics[] getStatistics() {
+        return cacheRegistry.getStatistics();
+    }
+}
@@ -0,0 +1,22 @@
+package app.qurancorpus.cache;
+
+import jakarta.inject.Singleton;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+@Singleton
+public class CacheRegistry {
+    private final Map<String, LruCache<?, ?>> caches = new ConcurrentSkipListMap<>();
+
+    public void register(String name, LruCache<?, ?> cache) {
+        caches.put(name, cache);
+    }
+
+    public CacheStatistics[] getStatistics() {
+        return caches.entrySet()
+                .stream()
+                .map(entry -> entry.getValue().getStatistics(entry.getKey()))
+                .toArray(CacheStatistics[]::new);
+    }
+}
@@ -0,0 +1,12 @@
+package app.qurancorpus.cache;
+
+public record CacheStatistics(
+        String name,
+        int capacity,
+        int size,
+        long weight,
+        long hitCount,
+        long missCount,
+        long evictionCount,
+        double hitRate) {
+}
@@ -0,0 +1,102 @@
+package app.qurancorpus.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+// A bounded, thread-safe cache that evicts the least recently used entry once
+// either the entry count or the total weight exceeds its limit. Values are
+// computed outside the lock, so a value may occasionally be computed twice
+// under contention, but lookups never block on a computation.
+public class LruCache<K, V> {
+    private final int capacity;
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private long evictionCount;
+    private long weight;
+
+    public LruCache(int capacity) {
+        this(capacity, Long.MAX_VALUE, x -> 1);
+    }
+
+    public LruCache(int capacity, long maxWeight, ToLongFunction<V> weigher) {
+        this.capacity = capacity;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    public V get(K key, Function<K, V> loader) {
+        Entry<V> entry;
+        synchronized (map) {
+            entry = map.get(key);
+        }
+        if (entry != null) {
+            hitCount.incrementAndGet();
+            return entry.value();
+        }
+        missCount.incrementAndGet();
+        var value = loader.apply(key);
+        put(key, new Entry<>(value, weigher.applyAsLong(value)));
+        return value;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        synchronized (map) {
+            return map.size();
+        }
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public CacheStatistics getStatistics(String name) {
+        synchronized (map) {
+            var hitCount = this.hitCount.get();
+            var requestCount = hitCount + missCount.get();
+            return new CacheStatistics(
+                    name,
+                    capacity,
+                    map.size(),
+                    weight,
+                    hitCount,
+                    requestCount - hitCount,
+                    evictionCount,
+                    requestCount != 0 ? (double) hitCount / requestCount : 0);
+        }
+    }
+
+    private void put(K key, Entry<V> entry) {
+        synchronized (map) {
+            var previous = map.put(key, entry);
+            if (previous != null) {
+                weight -= previous.weight();
+            }
+            weight += entry.weight();
+
+            // evict
+            var iterator = map.values().iterator();
+            while ((map.size() > capacity || weight > maxWeight) && iterator.hasNext()) {
+                weight -= iterator.next().weight();
+                iterator.remove();
+                evictionCount++;
+            }
+        }
+    }
+
+    private record Entry<V>(V value, long weight) {
+    }
+}
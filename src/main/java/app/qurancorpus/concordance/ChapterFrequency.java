@@ -0,0 +1,4 @@
+package app.qurancorpus.concordance;
+
+public record ChapterFrequency(int chapterNumber, int tokenCount) {
+}
@@ -0,0 +1,114 @@
+package app.qurancorpus.concordance;
+
+import app.qurancorpus.morphology.MorphologyGraph;
+import app.qurancorpus.orthography.Document;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static app.qurancorpus.arabic.encoding.buckwalter.BuckwalterEncoder.toBuckwalter;
+import static app.qurancorpus.arabic.encoding.unicode.UnicodeDecoder.fromUnicode;
+import static app.qurancorpus.arabic.encoding.unicode.UnicodeEncoder.toUnicode;
+
+// Inverted indexes from roots and lemmas to the tokens they occur in, built
+// from the morphology graph at load time. Both are keyed by Buckwalter.
+public class Concordance {
+    private final Map<String, ConcordanceEntry> roots = new HashMap<>();
+    private final Map<String, ConcordanceEntry> lemmas = new HashMap<>();
+
+    // Lemma keys end in a digit when lemmas share a form, so forms map to one
+    // or more lemmas.
+    private final Map<String, List<ConcordanceEntry>> lemmaForms = new HashMap<>();
+
+    public Concordance(Document document, MorphologyGraph morphologyGraph) {
+        var roots = new HashMap<String, ConcordanceEntryBuilder>();
+        var lemmas = new TreeMap<String, ConcordanceEntryBuilder>();
+        var tokenSequenceNumber = 0;
+        var verseSequenceNumber = 0;
+        for (var chapter : document.children()) {
+            var chapterNumber = chapter.chapterNumber();
+            for (var verse : chapter.verses()) {
+                verseSequenceNumber++;
+                for (var i = 0; i < verse.tokens().length; i++) {
+                    tokenSequenceNumber++;
+                    var segmentCount = morphologyGraph.getSegmentCount(tokenSequenceNumber);
+                    for (var j = 0; j < segmentCount; j++) {
+                        var segment = morphologyGraph.getSegment(tokenSequenceNumber, j);
+
+                        // root
+                        var root = segment.getRoot();
+                        if (root != null) {
+                            roots.computeIfAbsent(
+                                            toBuckwalter(root),
+                                            x -> new ConcordanceEntryBuilder(x, toUnicode(root)))
+                                    .add(tokenSequenceNumber, verseSequenceNumber, chapterNumber);
+                        }
+
+                        // lemma
+                        var lemma = segment.getLemma();
+                        if (lemma != null) {
+                            lemmas.computeIfAbsent(
+                                            lemma.key(),
+                                            x -> new ConcordanceEntryBuilder(x, toUnicode(lemma.arabicText())))
+                                    .add(tokenSequenceNumber, verseSequenceNumber, chapterNumber);
+                        }
+                    }
+                }
+            }
+        }
+
+        for (var builder : roots.values()) {
+            var entry = builder.build();
+            this.roots.put(entry.key(), entry);
+        }
+        for (var builder : lemmas.values()) {
+            var entry = builder.build();
+            this.lemmas.put(entry.key(), entry);
+            lemmaForms.computeIfAbsent(getForm(entry.key()), x -> new ArrayList<>()).add(entry);
+        }
+    }
+
+    public ConcordanceEntry getRoot(String root) {
+        return roots.get(getKey(root));
+    }
+
+    // Returns the lemma with this Buckwalter key, or else every lemma with this
+    // form. Unicode has no way to write the digit, so is always a form.
+    public List<ConcordanceEntry> getLemmas(String lemma) {
+        var key = getKey(lemma);
+        var entry = !isArabic(lemma) ? lemmas.get(key) : null;
+        return entry != null ? List.of(entry) : lemmaForms.getOrDefault(key, List.of());
+    }
+
+    public int getRootCount() {
+        return roots.size();
+    }
+
+    public int getLemmaCount() {
+        return lemmas.size();
+    }
+
+    // Accepts Buckwalter or Unicode, with or without spaces between letters.
+    static String getKey(String text) {
+        var key = isArabic(text) ? toBuckwalter(fromUnicode(text)) : text;
+        return key.replace(" ", "");
+    }
+
+    private static String getForm(String lemmaKey) {
+        var ch = lemmaKey.charAt(lemmaKey.length() - 1);
+        return ch >= '0' && ch <= '9' ? lemmaKey.substring(0, lemmaKey.length() - 1) : lemmaKey;
+    }
+
+    private static boolean isArabic(String text) {
+        for (var i = 0; i < text.length(); i++) {
+            var ch = text.charAt(i);
+            if (ch >= '\u0600' && ch <= '\u06ff') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
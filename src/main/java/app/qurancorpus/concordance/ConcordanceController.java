@@ -0,0 +1,85 @@
+package app.qurancorpus.concordance;
+
+import app.qurancorpus.morphology.Field;
+import app.qurancorpus.morphology.TokenTransformer;
+import app.qurancorpus.orthography.LocationService;
+import app.qurancorpus.orthography.TokenResponse;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.http.exceptions.HttpStatusException;
+import jakarta.inject.Inject;
+
+import javax.validation.constraints.Min;
+import java.util.Set;
+
+import static app.qurancorpus.morphology.Field.parseFields;
+import static io.micronaut.http.HttpStatus.BAD_REQUEST;
+import static java.lang.Math.min;
+import static java.text.MessageFormat.format;
+import static java.util.stream.Collectors.joining;
+
+@Controller("/concordance")
+public class ConcordanceController {
+
+    @Inject
+    Concordance concordance;
+
+    @Inject
+    LocationService locationService;
+
+    @Inject
+    TokenTransformer tokenTransformer;
+
+    @Value("${corpus.concordance.page-size:100}")
+    int pageSize;
+
+    @Get("root")
+    public ConcordanceResponse getRoot(
+            @QueryValue String root,
+            @Min(1) @QueryValue(defaultValue = "1") int page,
+            @Nullable @QueryValue String fields) {
+
+        var entry = concordance.getRoot(root);
+        return entry != null ? getResponse(entry, page, parseFields(fields)) : null;
+    }
+
+    @Get("lemma")
+    public ConcordanceResponse getLemma(
+            @QueryValue String lemma,
+            @Min(1) @QueryValue(defaultValue = "1") int page,
+            @Nullable @QueryValue String fields) {
+
+        var entries = concordance.getLemmas(lemma);
+        if (entries.size() > 1) {
+            var keys = entries.stream().map(ConcordanceEntry::key).collect(joining(", "));
+            throw new HttpStatusException(BAD_REQUEST, format("Lemma {0} is ambiguous: {1}.", lemma, keys));
+        }
+        return !entries.isEmpty() ? getResponse(entries.get(0), page, parseFields(fields)) : null;
+    }
+
+    // Only the requested page of postings is decoded. Pages after the last are empty.
+    private ConcordanceResponse getResponse(ConcordanceEntry entry, int page, Set<Field> fields) {
+        var postings = entry.tokens();
+        var start = min((long) (page - 1) * pageSize, postings.size());
+        var tokenSequenceNumbers = postings.toArray((int) start, pageSize);
+        var tokens = new TokenResponse[tokenSequenceNumbers.length];
+        for (var i = 0; i < tokens.length; i++) {
+            var token = locationService.getToken(tokenSequenceNumbers[i]);
+            tokens[i] = tokenTransformer.getTokenResponse(token, false, fields);
+        }
+
+        return new ConcordanceResponse(
+                entry.key(),
+                entry.arabic(),
+                postings.size(),
+                entry.verseCount(),
+                entry.chapters().length,
+                entry.chapters(),
+                page,
+                (postings.size() + pageSize - 1) / pageSize,
+                tokens);
+    }
+}
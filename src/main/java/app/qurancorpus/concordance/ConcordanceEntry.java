@@ -0,0 +1,9 @@
+package app.qurancorpus.concordance;
+
+public record ConcordanceEntry(
+        String key,
+        String arabic,
+        PostingList tokens,
+        int verseCount,
+        ChapterFrequency[] chapters) {
+}
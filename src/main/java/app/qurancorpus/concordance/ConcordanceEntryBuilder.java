@@ -0,0 +1,53 @@
+package app.qurancorpus.concordance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class ConcordanceEntryBuilder {
+    private final String key;
+    private final String arabic;
+    private final PostingListBuilder tokens = new PostingListBuilder();
+    private final List<ChapterFrequency> chapters = new ArrayList<>();
+    private int verseCount;
+    private int lastVerseSequenceNumber;
+    private int lastChapterNumber;
+    private int chapterTokenCount;
+
+    ConcordanceEntryBuilder(String key, String arabic) {
+        this.key = key;
+        this.arabic = arabic;
+    }
+
+    // Tokens are added in corpus order, so verses and chapters are counted as they change.
+    void add(int tokenSequenceNumber, int verseSequenceNumber, int chapterNumber) {
+        if (!tokens.add(tokenSequenceNumber)) {
+            return;
+        }
+        if (verseSequenceNumber != lastVerseSequenceNumber) {
+            verseCount++;
+            lastVerseSequenceNumber = verseSequenceNumber;
+        }
+        if (chapterNumber != lastChapterNumber) {
+            addChapter();
+            lastChapterNumber = chapterNumber;
+        }
+        chapterTokenCount++;
+    }
+
+    ConcordanceEntry build() {
+        addChapter();
+        return new ConcordanceEntry(
+                key,
+                arabic,
+                tokens.build(),
+                verseCount,
+                chapters.toArray(ChapterFrequency[]::new));
+    }
+
+    private void addChapter() {
+        if (chapterTokenCount > 0) {
+            chapters.add(new ChapterFrequency(lastChapterNumber, chapterTokenCount));
+            chapterTokenCount = 0;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package app.qurancorpus.concordance;
+
+import app.qurancorpus.orthography.TokenResponse;
+
+public record ConcordanceResponse(
+        String key,
+        String arabic,
+        int tokenCount,
+        int verseCount,
+        int chapterCount,
+        ChapterFrequency[] chapters,
+        int page,
+        int pageCount,
+        TokenResponse[] tokens) {
+}
@@ -0,0 +1,64 @@
+package app.qurancorpus.concordance;
+
+import static java.lang.Math.min;
+
+// An ascending list of sequence numbers, stored as varint encoded deltas.
+// Every 64th entry has a skip pointer, so a page can be decoded without
+// decoding the entries before it.
+public class PostingList {
+    static final int SKIP_INTERVAL = 64;
+
+    private final byte[] data;
+    private final int size;
+    private final int[] skipValues;
+    private final int[] skipOffsets;
+
+    PostingList(byte[] data, int size, int[] skipValues, int[] skipOffsets) {
+        this.data = data;
+        this.size = size;
+        this.skipValues = skipValues;
+        this.skipOffsets = skipOffsets;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int[] toArray() {
+        return toArray(0, size);
+    }
+
+    // Decodes up to count entries, starting at the entry with the given index.
+    public int[] toArray(int start, int count) {
+        var end = min(size, start + count);
+        if (start >= end) {
+            return new int[0];
+        }
+
+        // Decode from the skip pointer before the start.
+        var skip = start / SKIP_INTERVAL;
+        var value = skipValues[skip];
+        var offset = skipOffsets[skip];
+        var values = new int[end - start];
+        for (var i = skip * SKIP_INTERVAL; i < end; i++) {
+            var delta = 0;
+            var shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                delta |= (b & 0x7f) << shift;
+                shift += 7;
+            } while (b < 0);
+            value += delta;
+            if (i >= start) {
+                values[i - start] = value;
+            }
+        }
+        return values;
+    }
+
+    // The size of the encoded list in bytes.
+    public int getByteCount() {
+        return data.length + (skipValues.length + skipOffsets.length) * Integer.BYTES;
+    }
+}
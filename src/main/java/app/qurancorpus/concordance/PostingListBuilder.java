@@ -0,0 +1,61 @@
+package app.qurancorpus.concordance;
+
+import java.io.ByteArrayOutputStream;
+
+import static java.text.MessageFormat.format;
+import static java.util.Arrays.copyOf;
+
+public class PostingListBuilder {
+    private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+    private int[] skipValues = new int[1];
+    private int[] skipOffsets = new int[1];
+    private int size;
+    private int last;
+
+    // Values must be added in ascending order. Repeated values are only added
+    // once, and return false.
+    public boolean add(int value) {
+        if (size > 0 && value == last) {
+            return false;
+        }
+        if (value <= last) {
+            throw new UnsupportedOperationException(
+                    format("Posting {0} added after {1}.", value, last));
+        }
+
+        // skip pointer
+        if (size % PostingList.SKIP_INTERVAL == 0) {
+            var skip = size / PostingList.SKIP_INTERVAL;
+            if (skip == skipValues.length) {
+                skipValues = copyOf(skipValues, skip * 2);
+                skipOffsets = copyOf(skipOffsets, skip * 2);
+            }
+            skipValues[skip] = last;
+            skipOffsets[skip] = data.size();
+        }
+
+        // varint delta
+        var delta = value - last;
+        while ((delta & ~0x7f) != 0) {
+            data.write((delta & 0x7f) | 0x80);
+            delta >>>= 7;
+        }
+        data.write(delta);
+        last = value;
+        size++;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public PostingList build() {
+        var skipCount = (size + PostingList.SKIP_INTERVAL - 1) / PostingList.SKIP_INTERVAL;
+        return new PostingList(
+                data.toByteArray(),
+                size,
+                copyOf(skipValues, Math.max(1, skipCount)),
+                copyOf(skipOffsets, Math.max(1, skipCount)));
+    }
+}
@@ -0,0 +1,166 @@
+package app.qurancorpus.export;
+
+import app.qurancorpus.http.LinePublisher;
+import app.qurancorpus.metrics.Metrics;
+import app.qurancorpus.morphology.Field;
+import app.qurancorpus.morphology.TokenTransformer;
+import app.qurancorpus.orthography.*;
+import app.qurancorpus.translation.Translation;
+import app.qurancorpus.translation.TranslationResponse;
+import app.qurancorpus.translation.TranslationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Produces;
+import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.http.exceptions.HttpStatusException;
+import io.micronaut.scheduling.TaskExecutors;
+import io.netty.buffer.ByteBuf;
+import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import lombok.SneakyThrows;
+import org.reactivestreams.Publisher;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.io.ByteArrayOutputStream;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import static app.qurancorpus.metrics.Stage.Serialization;
+import static app.qurancorpus.morphology.Field.parseFields;
+import static io.micronaut.http.HttpStatus.BAD_REQUEST;
+import static io.netty.buffer.Unpooled.wrappedBuffer;
+import static java.text.MessageFormat.format;
+
+// Exports the annotated corpus as newline delimited JSON, with one line per
+// verse (as VerseResponse) or per token (as TokenResponse). Lines are rendered
+// on the IO executor as Netty asks for them, and aren't cached, so memory use
+// is constant.
+@Controller("/export")
+public class ExportController {
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+
+    private static final int CHAPTER_COUNT = 114;
+    private static final int LINE_SIZE = 4096;
+
+    @Inject
+    Document document;
+
+    @Inject
+    LocationService locationService;
+
+    @Inject
+    OrthographyService orthographyService;
+
+    @Inject
+    TranslationService translationService;
+
+    @Inject
+    TokenTransformer tokenTransformer;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    Metrics metrics;
+
+    @Inject
+    @Named(TaskExecutors.IO)
+    ExecutorService ioExecutor;
+
+    @Get
+    @Produces(APPLICATION_NDJSON)
+    public Publisher<ByteBuf> export(
+            @QueryValue(defaultValue = "verse") String unit,
+            @Min(1) @Max(CHAPTER_COUNT) @QueryValue(defaultValue = "1") int from,
+            @Min(1) @Max(CHAPTER_COUNT) @QueryValue(defaultValue = "114") int to,
+            @Nullable @QueryValue("translation") String translationQuery,
+            @Nullable @QueryValue Boolean features,
+            @Nullable @QueryValue String fields) {
+
+        if (from > to) {
+            throw new HttpStatusException(BAD_REQUEST, "Invalid chapter range.");
+        }
+
+        // chapter range
+        var firstVerse = document.getVerse(from, 1);
+        var lastVerses = document.getChild(to).verses();
+        var lastVerse = lastVerses[lastVerses.length - 1];
+        var _features = features != null && features;
+        var _fields = parseFields(fields);
+
+        return switch (unit) {
+            case "verse" -> exportVerses(firstVerse, lastVerse, translationService.getTranslations(translationQuery), _features, _fields);
+            case "token" -> exportTokens(firstVerse, lastVerse, _features, _fields);
+            default -> throw new HttpStatusException(BAD_REQUEST, format("Unit {0} not supported.", unit));
+        };
+    }
+
+    private Publisher<ByteBuf> exportVerses(
+            Verse firstVerse,
+            Verse lastVerse,
+            Translation[] translations,
+            boolean features,
+            Set<Field> fields) {
+
+        var start = locationService.getVerseSequenceNumber(firstVerse.location());
+        var end = locationService.getVerseSequenceNumber(lastVerse.location());
+        return new LinePublisher<>(
+                end - start + 1,
+                i -> getVerseLine(locationService.getVerse(start + i), translations, features, fields),
+                ioExecutor);
+    }
+
+    private Publisher<ByteBuf> exportTokens(
+            Verse firstVerse,
+            Verse lastVerse,
+            boolean features,
+            Set<Field> fields) {
+
+        var lastTokens = lastVerse.tokens();
+        var start = locationService.getTokenSequenceNumber(firstVerse.tokens()[0].location());
+        var end = locationService.getTokenSequenceNumber(lastTokens[lastTokens.length - 1].location());
+        return new LinePublisher<>(
+                end - start + 1,
+                i -> toLine(tokenTransformer.getTokenResponse(locationService.getToken(start + i), features, fields)),
+                ioExecutor);
+    }
+
+    private ByteBuf getVerseLine(Verse verse, Translation[] translations, boolean features, Set<Field> fields) {
+        var tokens = verse.tokens();
+        var tokenResponses = new TokenResponse[tokens.length];
+        for (var i = 0; i < tokens.length; i++) {
+            tokenResponses[i] = tokenTransformer.getTokenResponse(tokens[i], features, fields);
+        }
+
+        var location = verse.location();
+        var verseSequenceNumber = locationService.getVerseSequenceNumber(location);
+        TranslationResponse[] translationResponses = null;
+        if (translations != null) {
+            translationResponses = new TranslationResponse[translations.length];
+            for (var i = 0; i < translations.length; i++) {
+                translationResponses[i] = new TranslationResponse(
+                        translations[i].name(),
+                        translations[i].getVerse(verseSequenceNumber));
+            }
+        }
+
+        return toLine(new VerseResponse(
+                location.toArray(),
+                tokenResponses,
+                translationResponses,
+                fields.contains(Field.VerseMark) ? orthographyService.getVerseMark(verseSequenceNumber) : null));
+    }
+
+    @SneakyThrows
+    private ByteBuf toLine(Object value) {
+        var start = metrics.start();
+        var line = new ByteArrayOutputStream(LINE_SIZE);
+        objectMapper.writeValue(line, value);
+        line.write('\n');
+        metrics.record(Serialization, start);
+        return wrappedBuffer(line.toByteArray());
+    }
+}
@@ -0,0 +1,39 @@
+package app.qurancorpus.http;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import lombok.SneakyThrows;
+
+import java.io.ByteArrayOutputStream;
+
+import static app.qurancorpus.http.HeaderValues.getQuality;
+
+// CBOR (RFC 8949) is a binary encoding of the JSON data model. Responses are
+// rendered as JSON, so are transcoded token by token, keeping the same schema.
+public class Cbor {
+    public static final String APPLICATION_CBOR = "application/cbor";
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final CBORFactory CBOR_FACTORY = new CBORFactory();
+
+    private Cbor() {
+    }
+
+    // CBOR is only used when asked for, and JSON is preferred on a tie.
+    public static boolean isPreferred(String accept) {
+        var quality = getQuality(accept, APPLICATION_CBOR);
+        return quality > 0 && quality > getQuality(accept, "application/json");
+    }
+
+    @SneakyThrows
+    public static byte[] toCbor(byte[] json) {
+        var output = new ByteArrayOutputStream(json.length);
+        try (var parser = JSON_FACTORY.createParser(json);
+             var generator = CBOR_FACTORY.createGenerator(output)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        }
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,144 @@
+package app.qurancorpus.http;
+
+import io.micronaut.context.env.Environment;
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import org.reactivestreams.Publisher;
+
+import java.util.TreeSet;
+
+import static app.qurancorpus.http.EncodedBody.getRepresentation;
+import static io.micronaut.http.HttpHeaders.ACCEPT;
+import static io.micronaut.http.HttpHeaders.ACCEPT_ENCODING;
+import static io.micronaut.http.HttpHeaders.CACHE_CONTROL;
+import static io.micronaut.http.HttpHeaders.ETAG;
+import static io.micronaut.http.HttpHeaders.IF_NONE_MATCH;
+import static io.micronaut.http.HttpHeaders.VARY;
+import static io.micronaut.http.HttpMethod.GET;
+import static io.micronaut.http.HttpStatus.OK;
+import static java.util.Locale.ROOT;
+
+// Adds ETag and Cache-Control headers to endpoints configured under
+// corpus.cache-control, and answers a matching If-None-Match with 304
+// before the controller builds the body.
+@Filter("/**")
+public class ConditionalRequestFilter implements HttpServerFilter {
+    private static final String CACHE_CONTROL_PROPERTY = "corpus.cache-control.";
+    private static final String WEAK = "W/";
+
+    private final ContentHash contentHash;
+    private final Environment environment;
+
+    public ConditionalRequestFilter(ContentHash contentHash, Environment environment) {
+        this.contentHash = contentHash;
+        this.environment = environment;
+    }
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        if (request.getMethod() != GET) {
+            return chain.proceed(request);
+        }
+
+        var cacheControl = getCacheControl(request.getPath());
+        if (cacheControl == null) {
+            return chain.proceed(request);
+        }
+
+        // Each content type and encoding is a different representation, with its own tag.
+        // Only the tag of the representation that this request selects is matched, so
+        // that a cache can't revalidate one representation for a client that accepts
+        // another. Weak tags are matched too, as If-None-Match uses weak comparison.
+        var headers = request.getHeaders();
+        var entityTag = getEntityTag(
+                contentHash.getEntityTag(getQuery(request)),
+                getRepresentation(headers.get(ACCEPT), headers.get(ACCEPT_ENCODING)));
+        var match = match(headers.get(IF_NONE_MATCH), entityTag);
+        if (match != null) {
+            return Publishers.just(HttpResponse.notModified()
+                    .header(ETAG, match)
+                    .header(CACHE_CONTROL, cacheControl));
+        }
+
+        return Publishers.map(chain.proceed(request), response -> {
+            if (response.getStatus() == OK) {
+                response.header(ETAG, getResponseEntityTag(entityTag, response))
+                        .header(CACHE_CONTROL, cacheControl);
+            }
+            return response;
+        });
+    }
+
+    private String getCacheControl(String path) {
+        var start = path.startsWith("/") ? 1 : 0;
+        var end = path.indexOf('/', start);
+        var endpoint = end != -1 ? path.substring(start, end) : path.substring(start);
+        return !endpoint.isEmpty()
+                ? environment.getProperty(CACHE_CONTROL_PROPERTY + endpoint, String.class).orElse(null)
+                : null;
+    }
+
+    // The path with parameters in name order, so that equivalent URLs share an ETag.
+    private static String getQuery(HttpRequest<?> request) {
+        var parameters = request.getParameters();
+        var query = new StringBuilder(request.getPath());
+        var separator = '?';
+        for (var name : new TreeSet<>(parameters.names())) {
+            for (var value : parameters.getAll(name)) {
+                query.append(separator).append(name).append('=').append(value);
+                separator = '&';
+            }
+        }
+        return query.toString();
+    }
+
+    // Encoded bodies are chosen by Accept and Accept-Encoding, so have strong tags.
+    // Other bodies may be compressed by the server after this filter, so have weak
+    // tags, and vary by the same headers so that caches keep them apart.
+    private static String getResponseEntityTag(String entityTag, MutableHttpResponse<?> response) {
+        if (isEncoded(response)) {
+            return entityTag;
+        }
+        response.header(VARY, ACCEPT).header(VARY, ACCEPT_ENCODING);
+        return WEAK + entityTag;
+    }
+
+    private static boolean isEncoded(MutableHttpResponse<?> response) {
+        for (var vary : response.getHeaders().getAll(VARY)) {
+            if (vary.toLowerCase(ROOT).contains(ACCEPT_ENCODING.toLowerCase(ROOT))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String getEntityTag(String entityTag, String representation) {
+        return representation != null
+                ? entityTag.substring(0, entityTag.length() - 1) + '-' + representation + '"'
+                : entityTag;
+    }
+
+    private static String match(String ifNoneMatch, String entityTag) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        for (var value : ifNoneMatch.split(",")) {
+            value = value.trim();
+            if (value.equals("*")) {
+                return entityTag;
+            }
+
+            // The tag is returned as sent, so a weak tag stays weak.
+            var opaqueTag = value.startsWith(WEAK) ? value.substring(WEAK.length()) : value;
+            if (opaqueTag.equals(entityTag)) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
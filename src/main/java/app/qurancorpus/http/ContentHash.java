@@ -0,0 +1,82 @@
+package app.qurancorpus.http;
+
+import app.qurancorpus.ResourceReader;
+import lombok.SneakyThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+// A hash of the data files that the corpus is loaded from, and of the build
+// that renders it. Responses only depend on the data, the code and the
+// request, so together they make a strong ETag. A deploy that changes either
+// the data or the code changes every tag.
+public class ContentHash {
+    private static final String ALGORITHM = "SHA-256";
+    private static final int BUFFER_SIZE = 65536;
+    private static final int ENTITY_TAG_SIZE = 16;
+    private final byte[] hash;
+
+    @SneakyThrows
+    public ContentHash(List<String> resources) {
+        var digest = MessageDigest.getInstance(ALGORITHM);
+        var buffer = new byte[BUFFER_SIZE];
+        for (var resource : resources) {
+            digest.update(resource.getBytes(UTF_8));
+
+            // Optional data, such as irab, may be missing in development.
+            try (var stream = ResourceReader.class.getResourceAsStream(resource)) {
+                if (stream == null) continue;
+                int size;
+                while ((size = stream.read(buffer)) != -1) {
+                    digest.update(buffer, 0, size);
+                }
+            }
+        }
+        updateBuild(digest, buffer);
+        hash = digest.digest();
+    }
+
+    @SneakyThrows
+    public String getEntityTag(String query) {
+        var digest = MessageDigest.getInstance(ALGORITHM);
+        digest.update(hash);
+        digest.update(query.getBytes(UTF_8));
+        return '"' + HexFormat.of().formatHex(digest.digest(), 0, ENTITY_TAG_SIZE) + '"';
+    }
+
+    @Override
+    public String toString() {
+        return HexFormat.of().formatHex(hash);
+    }
+
+    // The application's jar, or its class files when run from a build directory.
+    @SneakyThrows
+    private static void updateBuild(MessageDigest digest, byte[] buffer) {
+        var path = Path.of(ContentHash.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        if (!Files.isDirectory(path)) {
+            update(digest, path, buffer);
+            return;
+        }
+        try (var paths = Files.walk(path)) {
+            for (var file : paths.filter(Files::isRegularFile).sorted().toList()) {
+                digest.update(path.relativize(file).toString().getBytes(UTF_8));
+                update(digest, file, buffer);
+            }
+        }
+    }
+
+    @SneakyThrows
+    private static void update(MessageDigest digest, Path path, byte[] buffer) {
+        try (var stream = Files.newInputStream(path)) {
+            int size;
+            while ((size = stream.read(buffer)) != -1) {
+                digest.update(buffer, 0, size);
+            }
+        }
+    }
+}
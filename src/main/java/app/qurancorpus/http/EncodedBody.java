@@ -0,0 +1,124 @@
+package app.qurancorpus.http;
+
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.MutableHttpResponse;
+import io.netty.buffer.ByteBuf;
+import lombok.SneakyThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import static app.qurancorpus.http.Cbor.APPLICATION_CBOR;
+import static app.qurancorpus.http.Cbor.isPreferred;
+import static app.qurancorpus.http.Cbor.toCbor;
+import static app.qurancorpus.http.HeaderValues.getQuality;
+import static io.micronaut.http.HttpHeaders.ACCEPT;
+import static io.micronaut.http.HttpHeaders.ACCEPT_ENCODING;
+import static io.micronaut.http.HttpHeaders.CONTENT_ENCODING;
+import static io.micronaut.http.HttpHeaders.VARY;
+import static io.micronaut.http.MediaType.APPLICATION_JSON;
+import static io.netty.buffer.Unpooled.wrappedBuffer;
+
+// A JSON response body together with its gzip and CBOR encodings. Cached
+// bodies are encoded once, instead of on every request. Few clients ask for
+// CBOR, so it is only transcoded when first asked for.
+public class EncodedBody {
+    public static final String GZIP = "gzip";
+    public static final String CBOR = "cbor";
+
+    private static final String VARY_HEADERS = ACCEPT + ", " + ACCEPT_ENCODING;
+
+    // Smaller bodies aren't worth compressing.
+    private static final int MIN_SIZE = 1024;
+
+    private final byte[] identity;
+    private final byte[] gzip;
+    private volatile byte[] cbor;
+
+    private EncodedBody(byte[] identity, byte[] gzip) {
+        this.identity = identity;
+        this.gzip = gzip;
+    }
+
+    public static EncodedBody encode(byte[] body) {
+        if (body.length < MIN_SIZE) {
+            return new EncodedBody(body, null);
+        }
+        var gzip = compress(body);
+        return new EncodedBody(body, gzip.length < body.length ? gzip : null);
+    }
+
+    // Bodies that aren't cached aren't compressed ahead of time.
+    public static EncodedBody uncompressed(byte[] body) {
+        return new EncodedBody(body, null);
+    }
+
+    public byte[] identity() {
+        return identity;
+    }
+
+    public byte[] gzip() {
+        return gzip;
+    }
+
+    // Racing requests may both transcode, but get equal bodies.
+    public byte[] cbor() {
+        var cbor = this.cbor;
+        if (cbor == null) {
+            cbor = toCbor(identity);
+            this.cbor = cbor;
+        }
+        return cbor;
+    }
+
+    // Caches weigh entries when added, so CBOR built later isn't counted.
+    public long weight() {
+        var cbor = this.cbor;
+        return identity.length + (gzip != null ? gzip.length : 0) + (cbor != null ? cbor.length : 0);
+    }
+
+    public MutableHttpResponse<ByteBuf> toResponse(String accept, String acceptEncoding) {
+        var representation = getRepresentation(accept, acceptEncoding);
+        if (CBOR.equals(representation)) {
+            return HttpResponse.ok(wrappedBuffer(cbor()))
+                    .contentType(APPLICATION_CBOR)
+                    .header(VARY, VARY_HEADERS);
+        }
+        if (GZIP.equals(representation) && gzip != null) {
+            return HttpResponse.ok(wrappedBuffer(gzip))
+                    .contentType(APPLICATION_JSON)
+                    .header(CONTENT_ENCODING, GZIP)
+                    .header(VARY, VARY_HEADERS);
+        }
+        return HttpResponse.ok(wrappedBuffer(identity))
+                .contentType(APPLICATION_JSON)
+                .header(VARY, VARY_HEADERS);
+    }
+
+    // The representation that a request selects: CBOR, gzip, or null for JSON
+    // without compression. Small bodies are sent uncompressed when gzip is selected.
+    public static String getRepresentation(String accept, String acceptEncoding) {
+        if (isPreferred(accept)) {
+            return CBOR;
+        }
+        return acceptsGzip(acceptEncoding) ? GZIP : null;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        var quality = getQuality(acceptEncoding, GZIP, "x-gzip");
+        if (quality < 0) {
+            quality = getQuality(acceptEncoding, "*");
+        }
+        return quality > 0;
+    }
+
+    @SneakyThrows
+    private static byte[] compress(byte[] body) {
+        var output = new ByteArrayOutputStream(body.length / 4);
+        try (var gzip = new GZIPOutputStream(output) {{ def.setLevel(Deflater.BEST_COMPRESSION); }}) {
+            gzip.write(body);
+        }
+        return output.toByteArray();
+    }
+}
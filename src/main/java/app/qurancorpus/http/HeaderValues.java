@@ -0,0 +1,39 @@
+package app.qurancorpus.http;
+
+// Parses the quality values in Accept and Accept-Encoding headers.
+class HeaderValues {
+    private HeaderValues() {
+    }
+
+    // The quality of a header item, such as "gzip;q=0.8", or -1 if the item isn't present.
+    static double getQuality(String header, String... names) {
+        if (header == null) {
+            return -1;
+        }
+        var quality = -1.0;
+        for (var item : header.split(",")) {
+            var parameters = item.split(";");
+            var name = parameters[0].trim();
+            for (var x : names) {
+                if (name.equalsIgnoreCase(x)) {
+                    quality = Math.max(quality, getQuality(parameters));
+                }
+            }
+        }
+        return quality;
+    }
+
+    private static double getQuality(String[] parameters) {
+        for (var i = 1; i < parameters.length; i++) {
+            var parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,87 @@
+package app.qurancorpus.http;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+// Publishes lines that are only rendered when the subscriber asks for them,
+// so that an export holds a few lines in memory at a time, however large.
+// Netty asks for lines on its event loop, so lines are rendered on the given
+// executor instead, leaving the event loop free for other connections.
+public class LinePublisher<T> implements Publisher<T> {
+    private final int lineCount;
+    private final IntFunction<T> renderer;
+    private final Executor executor;
+
+    public LinePublisher(int lineCount, IntFunction<T> renderer, Executor executor) {
+        this.lineCount = lineCount;
+        this.renderer = renderer;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        subscriber.onSubscribe(new LineSubscription(subscriber));
+    }
+
+    private class LineSubscription implements Subscription {
+        private final Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger work = new AtomicInteger();
+        private volatile boolean done;
+        private int index;
+
+        LineSubscription(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                done = true;
+                subscriber.onError(new IllegalArgumentException("Request must be positive."));
+                return;
+            }
+            demand.getAndAccumulate(n, (x, y) -> x + y < 0 ? Long.MAX_VALUE : x + y);
+            if (work.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+        }
+
+        // Only one task emits at a time. Requests made while it runs, including
+        // from onNext, are served by its loop rather than a new task.
+        private void drain() {
+            var missed = 1;
+            do {
+                while (!done && index < lineCount && demand.get() > 0) {
+                    T line;
+                    try {
+                        line = renderer.apply(index++);
+                    } catch (RuntimeException e) {
+                        done = true;
+                        subscriber.onError(e);
+                        return;
+                    }
+                    demand.decrementAndGet();
+                    subscriber.onNext(line);
+                }
+                if (!done && index == lineCount) {
+                    done = true;
+                    subscriber.onComplete();
+                    return;
+                }
+                missed = work.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package app.qurancorpus.initialization;
+
+import app.qurancorpus.arabic.encoding.phonetic.PhoneticService;
+import app.qurancorpus.cache.CacheRegistry;
+import app.qurancorpus.concordance.Concordance;
+import app.qurancorpus.http.ContentHash;
+import app.qurancorpus.irab.IrabGraph;
+import app.qurancorpus.irab.IrabLoader;
+import app.qurancorpus.lexicography.LemmaService;
+import app.qurancorpus.metrics.Metrics;
+import app.qurancorpus.morphology.MorphologyGraph;
+import app.qurancorpus.morphology.MorphologyLoader;
+import app.qurancorpus.morphology.WordMorphologyService;
+import app.qurancorpus.orthography.Document;
+import app.qurancorpus.orthography.DocumentLoader;
+import app.qurancorpus.orthography.LocationService;
+import app.qurancorpus.orthography.OrthographyService;
+import app.qurancorpus.search.Facets;
+import app.qurancorpus.search.FeatureIndex;
+import app.qurancorpus.search.TranslationSearch;
+import app.qurancorpus.snapshot.CorpusSnapshot;
+import app.qurancorpus.syntax.GraphCoverage;
+import app.qurancorpus.syntax.LegacyCorpusGraphMapper;
+import app.qurancorpus.syntax.SyntaxService;
+import app.qurancorpus.translation.TranslationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.context.annotation.Context;
+import io.micronaut.context.annotation.Factory;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+import static app.qurancorpus.initialization.InitializationScheduler.get;
+import static java.text.MessageFormat.format;
+
+@Context
+@Factory
+public class CorpusFactory {
+    // The data files that responses are built from.
+    private static final String[] DATA_RESOURCES = {
+            "/data/quran-uthmani.xml",
+            "/data/chapters.json",
+            "/data/verses.json",
+            "/data/pause-marks.tsv",
+            "/data/lemmas.txt",
+            "/data/morphology.txt",
+            "/data/syntax.txt",
+            "/data/irab.tsv",
+            "/data/translation/index.json",
+            "/data/translation/word-by-word.txt"
+    };
+
+    private final CompletableFuture<Document> document;
+    private final CompletableFuture<LocationService> locationService;
+    private final CompletableFuture<TranslationService> translationService;
+    private final CompletableFuture<OrthographyService> orthographyService;
+    private final CompletableFuture<MorphologyGraph> morphologyGraph;
+    private final CompletableFuture<PhoneticService> phoneticService;
+    private final CompletableFuture<WordMorphologyService> wordMorphologyService;
+    private final CompletableFuture<SyntaxService> syntaxService;
+    private final CompletableFuture<GraphCoverage> graphCoverage;
+    private final CompletableFuture<IrabGraph> irabGraph;
+    private final CompletableFuture<ContentHash> contentHash;
+    private final CompletableFuture<Concordance> concordance;
+    private final CompletableFuture<FeatureIndex> featureIndex;
+    private final CompletableFuture<Facets> facets;
+    private final CompletableFuture<TranslationSearch> translationSearch;
+
+    public CorpusFactory(
+            CorpusSnapshot snapshot,
+            LemmaService lemmaService,
+            ObjectMapper objectMapper,
+            CacheRegistry cacheRegistry,
+            Metrics metrics,
+            @Value("${corpus.word-morphology.cache-size:10000}") int wordMorphologyCacheSize,
+            @Value("${corpus.word-morphology.warm-up:false}") boolean wordMorphologyWarmUp,
+            @Value("${corpus.search.translation-memory:8388608}") long translationSearchMemory) {
+
+        // Most stages only depend on the document, so are built in parallel.
+        var scheduler = new InitializationScheduler(ForkJoinPool.commonPool());
+
+        document = scheduler.stage("document",
+                () -> new DocumentLoader(snapshot).load());
+
+        irabGraph = scheduler.stage("irab",
+                () -> new IrabLoader().load());
+
+        locationService = scheduler.stage("location",
+                () -> new LocationService(get(document)),
+                document);
+
+        translationService = scheduler.stage("translation",
+                () -> new TranslationService(get(document), objectMapper),
+                document);
+
+        orthographyService = scheduler.stage("orthography",
+                () -> new OrthographyService(get(locationService), get(document), objectMapper),
+                document, locationService);
+
+        morphologyGraph = scheduler.stage("morphology",
+                () -> new MorphologyLoader(get(document), get(locationService), lemmaService, snapshot).load(),
+                document, locationService);
+
+        phoneticService = scheduler.stage("phonetic",
+                () -> new PhoneticService(get(document), get(locationService), get(morphologyGraph)),
+                document, locationService, morphologyGraph);
+
+        wordMorphologyService = scheduler.stage("word-morphology",
+                () -> {
+                    var service = new WordMorphologyService(
+                            get(morphologyGraph), get(locationService), metrics, wordMorphologyCacheSize);
+                    cacheRegistry.register("word-morphology", service.getCache());
+                    if (wordMorphologyWarmUp) {
+                        service.warmUp(get(document).tokenCount());
+                    }
+                    return service;
+                },
+                document, locationService, morphologyGraph);
+
+        syntaxService = scheduler.stage("syntax",
+                () -> new SyntaxService(get(document), get(locationService), snapshot),
+                document, locationService);
+
+        graphCoverage = scheduler.stage("coverage",
+                () -> new GraphCoverage(get(document), get(syntaxService), get(locationService)),
+                document, syntaxService, locationService);
+
+        concordance = scheduler.stage("concordance",
+                () -> new Concordance(get(document), get(morphologyGraph)),
+                document, morphologyGraph);
+
+        featureIndex = scheduler.stage("feature-index",
+                () -> new FeatureIndex(get(document), get(morphologyGraph)),
+                document, morphologyGraph);
+
+        facets = scheduler.stage("facets",
+                () -> new Facets(get(featureIndex)),
+                featureIndex);
+
+        translationSearch = scheduler.stage("translation-search",
+                () -> new TranslationSearch(get(translationService), get(locationService), translationSearchMemory),
+                translationService, locationService);
+
+        contentHash = scheduler.stage("content-hash",
+                () -> new ContentHash(getDataResources(get(translationService))),
+                translationService);
+
+        scheduler.logTimings();
+    }
+
+    @Singleton
+    public Document document() {
+        return get(document);
+    }
+
+    @Singleton
+    public LocationService locationService() {
+        return get(locationService);
+    }
+
+    @Singleton
+    public TranslationService translationService() {
+        return get(translationService);
+    }
+
+    @Singleton
+    public OrthographyService orthographyService() {
+        return get(orthographyService);
+    }
+
+    @Singleton
+    public MorphologyGraph morphologyGraph() {
+        return get(morphologyGraph);
+    }
+
+    @Singleton
+    public PhoneticService phoneticService() {
+        return get(phoneticService);
+    }
+
+    @Singleton
+    public WordMorphologyService wordMorphologyService() {
+        return get(wordMorphologyService);
+    }
+
+    @Singleton
+    public SyntaxService syntaxService() {
+        return get(syntaxService);
+    }
+
+    @Singleton
+    public LegacyCorpusGraphMapper legacyCorpusGraphMapper() {
+        return get(syntaxService).getLegacyCorpusGraphMapper();
+    }
+
+    @Singleton
+    public GraphCoverage graphCoverage() {
+        return get(graphCoverage);
+    }
+
+    @Singleton
+    public IrabGraph irabGraph() {
+        return get(irabGraph);
+    }
+
+    @Singleton
+    public ContentHash contentHash() {
+        return get(contentHash);
+    }
+
+    @Singleton
+    public Concordance concordance() {
+        return get(concordance);
+    }
+
+    @Singleton
+    public FeatureIndex featureIndex() {
+        return get(featureIndex);
+    }
+
+    @Singleton
+    public Facets facets() {
+        return get(facets);
+    }
+
+    @Singleton
+    public TranslationSearch translationSearch() {
+        return get(translationSearch);
+    }
+
+    private static List<String> getDataResources(TranslationService translationService) {
+        var resources = new ArrayList<>(List.of(DATA_RESOURCES));
+        for (var translation : translationService.getMetadata()) {
+            resources.add(format("/data/translation/{0}.txt", translation.key()));
+        }
+        return resources;
+    }
+}
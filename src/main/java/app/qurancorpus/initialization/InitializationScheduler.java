@@ -0,0 +1,88 @@
+package app.qurancorpus.initialization;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import static java.lang.System.currentTimeMillis;
+import static java.util.concurrent.CompletableFuture.allOf;
+import static java.util.stream.Collectors.joining;
+
+public class InitializationScheduler {
+    private static final Logger log = LoggerFactory.getLogger(InitializationScheduler.class);
+    private final Executor executor;
+    private final long start = currentTimeMillis();
+    private final List<Stage> stages = new ArrayList<>();
+    private final List<CompletableFuture<?>> futures = new ArrayList<>();
+
+    public InitializationScheduler(Executor executor) {
+        this.executor = executor;
+    }
+
+    public <T> CompletableFuture<T> stage(String name, Supplier<T> supplier, CompletableFuture<?>... dependencies) {
+        // run once all dependencies have completed
+        var stage = new Stage(name);
+        stages.add(stage);
+        var future = allOf(dependencies).thenApplyAsync(x -> stage.run(supplier), executor);
+        futures.add(future);
+        return future;
+    }
+
+    public void logTimings() {
+        allOf(futures.toArray(new CompletableFuture[0])).whenComplete((x, e) -> {
+            var elapsed = currentTimeMillis() - start;
+            var breakdown = stages.stream().map(Stage::toString).collect(joining(", "));
+            log.info("Corpus initialized in {} ms ({})", elapsed, breakdown);
+        });
+    }
+
+    public static <T> T get(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static class Stage {
+        private final String name;
+        private volatile long elapsed = -1;
+        private volatile boolean failed;
+
+        Stage(String name) {
+            this.name = name;
+        }
+
+        <T> T run(Supplier<T> supplier) {
+            var start = currentTimeMillis();
+            T value;
+            try {
+                value = supplier.get();
+            } catch (RuntimeException e) {
+                failed = true;
+                log.error("Stage {} failed after {} ms", name, currentTimeMillis() - start, e);
+                throw e;
+            }
+            elapsed = currentTimeMillis() - start;
+            log.info("Stage {} completed in {} ms", name, elapsed);
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            if (failed) {
+                return name + " failed";
+            }
+            return elapsed >= 0 ? name + " " + elapsed + " ms" : name + " not run";
+        }
+    }
+}
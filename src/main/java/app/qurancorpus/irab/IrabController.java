@@ -1,5 +1,6 @@
 package app.qurancorpus.irab;
 
+import app.qurancorpus.metrics.Metrics;
 import app.qurancorpus.orthography.LocationService;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
@@ -8,6 +9,7 @@ import io.micronaut.http.exceptions.HttpStatusException;
 import jakarta.inject.Inject;
 import memseqdb.SeqRange;
 
+import static app.qurancorpus.metrics.Stage.LocationParsing;
 import static app.qurancorpus.orthography.Location.parseLocation;
 import static io.micronaut.http.HttpStatus.BAD_REQUEST;
 
@@ -20,6 +22,9 @@ public class IrabController {
     @Inject
     LocationService locationService;
 
+    @Inject
+    Metrics metrics;
+
     @Get
     public String[] getIrab(@QueryValue String from, @QueryValue String to) {
         var response = irabGraph.query(new SeqRange(getTokenSequenceNumber(from), getTokenSequenceNumber(to)));
@@ -30,6 +35,6 @@ public class IrabController {
     }
 
     private int getTokenSequenceNumber(String location) {
-        return locationService.getTokenSequenceNumber(parseLocation(location));
+        return locationService.getTokenSequenceNumber(metrics.time(LocationParsing, () -> parseLocation(location)));
     }
 }
\ No newline at end of file
@@ -1,7 +1,5 @@
 package app.qurancorpus.irab;
 
-import io.micronaut.context.annotation.Factory;
-import jakarta.inject.Singleton;
 import lombok.SneakyThrows;
 import memseqdb.GraphLoader;
 import memseqdb.Seq2Seq;
@@ -14,13 +12,11 @@ import static app.qurancorpus.ResourceReader.readResource;
 import static java.lang.Integer.parseInt;
 import static java.lang.System.currentTimeMillis;
 
-@Factory
 public class IrabLoader implements GraphLoader<IrabGraph> {
     private static final Logger log = LoggerFactory.getLogger(IrabLoader.class);
     private static final int TOTAL_ANALYSIS_COUNT = 30486;
 
     @Override
-    @Singleton
     @SneakyThrows
     public IrabGraph load() {
         try (var reader = readResource("/data/irab.tsv")) {
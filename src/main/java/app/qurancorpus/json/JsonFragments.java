@@ -0,0 +1,70 @@
+package app.qurancorpus.json;
+
+import io.netty.buffer.ByteBuf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.netty.buffer.Unpooled.wrappedBuffer;
+import static java.lang.System.arraycopy;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+// Assembles a JSON document from pre-rendered UTF-8 fragments, copying each
+// fragment once into the final body.
+public class JsonFragments {
+    public static final byte[] OPEN_ARRAY = bytes("[");
+    public static final byte[] CLOSE_ARRAY = bytes("]");
+    public static final byte[] OPEN_OBJECT = bytes("{");
+    public static final byte[] CLOSE_OBJECT = bytes("}");
+    public static final byte[] COMMA = bytes(",");
+
+    private final List<byte[]> fragments = new ArrayList<>();
+    private int size;
+
+    public JsonFragments add(byte[] fragment) {
+        fragments.add(fragment);
+        size += fragment.length;
+        return this;
+    }
+
+    public JsonFragments add(String text) {
+        return add(bytes(text));
+    }
+
+    public JsonFragments add(int[] array) {
+        var text = new StringBuilder();
+        text.append('[');
+        for (var i = 0; i < array.length; i++) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(array[i]);
+        }
+        text.append(']');
+        return add(text.toString());
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte[] toByteArray() {
+        var bytes = new byte[size];
+        var offset = 0;
+        for (var fragment : fragments) {
+            arraycopy(fragment, 0, bytes, offset, fragment.length);
+            offset += fragment.length;
+        }
+        return bytes;
+    }
+
+    public ByteBuf toByteBuf() {
+
+        // zero-copy
+        return wrappedBuffer(fragments.toArray(new byte[0][]));
+    }
+
+    public static byte[] bytes(String text) {
+        return text.getBytes(UTF_8);
+    }
+}
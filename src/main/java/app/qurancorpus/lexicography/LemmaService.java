@@ -1,23 +1,26 @@
 package app.qurancorpus.lexicography;
 
+import app.qurancorpus.arabic.ArabicText;
 import jakarta.inject.Singleton;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static app.qurancorpus.arabic.encoding.buckwalter.BuckwalterDecoder.fromBuckwalter;
 
 @Singleton
 public class LemmaService {
-    private final Map<String, Lemma> lemmas = new HashMap<>();
+    private final Map<String, Lemma> lemmas = new ConcurrentHashMap<>();
+    private final Map<String, ArabicText> roots = new ConcurrentHashMap<>();
 
     public Lemma getLemma(String key) {
-        var lemma = lemmas.get(key);
-        if (lemma == null) {
-            lemma = newLemma(key);
-            lemmas.put(key, lemma);
-        }
-        return lemma;
+        return lemmas.computeIfAbsent(key, this::newLemma);
+    }
+
+    public ArabicText getRoot(String key) {
+
+        // Roots are shared by many segments, so are only decoded once.
+        return roots.computeIfAbsent(key, x -> fromBuckwalter(x));
     }
 
     private Lemma newLemma(String key) {
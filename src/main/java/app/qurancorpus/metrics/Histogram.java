@@ -0,0 +1,71 @@
+package app.qurancorpus.metrics;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.util.Arrays.binarySearch;
+
+// A histogram with fixed upper bounds, in the form Prometheus scrapes.
+// Recording is lock free, so is safe on every request thread.
+public class Histogram {
+    private final long[] bounds;
+    private final LongAdder[] counts;
+    private final LongAdder sum = new LongAdder();
+
+    public Histogram(long[] bounds) {
+        this.bounds = bounds;
+
+        // The last count is the +Inf bucket.
+        counts = new LongAdder[bounds.length + 1];
+        for (var i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    public void record(long value) {
+        var index = binarySearch(bounds, value);
+        counts[index >= 0 ? index : -index - 1].increment();
+        sum.add(value);
+    }
+
+    public long[] getBounds() {
+        return bounds;
+    }
+
+    // Bucket counts are cumulative, as Prometheus expects.
+    public long[] getCumulativeCounts() {
+        var cumulativeCounts = new long[counts.length];
+        var total = 0L;
+        for (var i = 0; i < counts.length; i++) {
+            total += counts[i].sum();
+            cumulativeCounts[i] = total;
+        }
+        return cumulativeCounts;
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    // Bounds of 1, 2.5 and 5 times each power of ten, from min to max.
+    public static long[] getDecimalBounds(long min, long max) {
+        var bounds = new ArrayList<Long>();
+        for (var decade = min; decade <= max; decade *= 10) {
+            for (var bound : new long[]{decade, decade * 5 / 2, decade * 5}) {
+                if (bound <= max) {
+                    bounds.add(bound);
+                }
+            }
+        }
+        return bounds.stream().mapToLong(x -> x).toArray();
+    }
+
+    // Bounds of each power of four, from min to max.
+    public static long[] getPowerBounds(long min, long max) {
+        var bounds = new ArrayList<Long>();
+        for (var bound = min; bound <= max; bound *= 4) {
+            bounds.add(bound);
+        }
+        return bounds.stream().mapToLong(x -> x).toArray();
+    }
+}
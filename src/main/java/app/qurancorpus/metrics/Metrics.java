@@ -0,0 +1,110 @@
+package app.qurancorpus.metrics;
+
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static app.qurancorpus.metrics.Histogram.getDecimalBounds;
+import static app.qurancorpus.metrics.Histogram.getPowerBounds;
+import static java.lang.System.nanoTime;
+
+// Latency histograms for each endpoint and each stage of building a response,
+// with optional sampling of the bytes allocated by a request. Stage timers are
+// on by default, and cost only a branch when switched off.
+@Singleton
+public class Metrics {
+    private static final long[] REQUEST_BOUNDS = getDecimalBounds(10_000L, 10_000_000_000L);
+    private static final long[] STAGE_BOUNDS = getDecimalBounds(100L, 1_000_000_000L);
+    private static final long[] ALLOCATION_BOUNDS = getPowerBounds(1024L, 1L << 30);
+
+    private final Map<String, Histogram> requests = new ConcurrentSkipListMap<>();
+    private final Map<String, Histogram> allocations = new ConcurrentSkipListMap<>();
+    private final Histogram[] stages = new Histogram[Stage.values().length];
+    private final AtomicLong requestCount = new AtomicLong();
+    private final com.sun.management.ThreadMXBean threadBean;
+
+    @Value("${corpus.metrics.stages:true}")
+    boolean stageTimers;
+
+    // Measure allocation for one request in n, or never if 0.
+    @Value("${corpus.metrics.allocation-sampling:0}")
+    int allocationSampling;
+
+    public Metrics() {
+        for (var i = 0; i < stages.length; i++) {
+            stages[i] = new Histogram(STAGE_BOUNDS);
+        }
+        var bean = ManagementFactory.getThreadMXBean();
+        threadBean = bean instanceof com.sun.management.ThreadMXBean sunBean
+                && sunBean.isThreadAllocatedMemorySupported()
+                ? sunBean
+                : null;
+    }
+
+    public long start() {
+        return stageTimers ? nanoTime() : 0;
+    }
+
+    public void record(Stage stage, long start) {
+        if (start != 0) {
+            stages[stage.ordinal()].record(nanoTime() - start);
+        }
+    }
+
+    public <T> T time(Stage stage, Supplier<T> supplier) {
+        var start = start();
+        var value = supplier.get();
+        record(stage, start);
+        return value;
+    }
+
+    public void recordRequest(String endpoint, long elapsed) {
+        requests.computeIfAbsent(endpoint, x -> new Histogram(REQUEST_BOUNDS)).record(elapsed);
+    }
+
+    // Returns the bytes allocated so far by this thread, or -1 if this request isn't sampled.
+    public long startAllocation() {
+        if (allocationSampling <= 0 || threadBean == null) return -1;
+        if (requestCount.getAndIncrement() % allocationSampling != 0) return -1;
+        return threadBean.getCurrentThreadAllocatedBytes();
+    }
+
+    public void recordAllocation(String endpoint, long start) {
+        if (start < 0) return;
+        var allocated = threadBean.getCurrentThreadAllocatedBytes() - start;
+        allocations.computeIfAbsent(endpoint, x -> new Histogram(ALLOCATION_BOUNDS)).record(allocated);
+    }
+
+    public void write(PrometheusWriter writer) {
+        writer.family(
+                "corpus_request_duration_seconds",
+                "histogram",
+                "Time to build a response, by controller method.");
+        for (var entry : requests.entrySet()) {
+            writer.histogram("corpus_request_duration_seconds", "endpoint", entry.getKey(), entry.getValue(), 9);
+        }
+
+        writer.family(
+                "corpus_stage_duration_seconds",
+                "histogram",
+                "Time spent in each stage of building a response.");
+        for (var stage : Stage.values()) {
+            writer.histogram("corpus_stage_duration_seconds", "stage", stage.key(), stages[stage.ordinal()], 9);
+        }
+
+        if (!allocations.isEmpty()) {
+            writer.family(
+                    "corpus_request_allocated_bytes",
+                    "histogram",
+                    "Bytes allocated by sampled requests, by controller method.");
+            for (var entry : allocations.entrySet()) {
+                writer.histogram("corpus_request_allocated_bytes", "endpoint", entry.getKey(), entry.getValue(), 0);
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package app.qurancorpus.metrics;
+
+import app.qurancorpus.cache.CacheRegistry;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Produces;
+import jakarta.inject.Inject;
+
+// Exposes request, stage and cache metrics for a Prometheus compatible scraper.
+@Controller("/metrics")
+public class MetricsController {
+    public static final String TEXT_PROMETHEUS = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Inject
+    Metrics metrics;
+
+    @Inject
+    CacheRegistry cacheRegistry;
+
+    @Get
+    @Produces(TEXT_PROMETHEUS)
+    public String getMetrics() {
+        var writer = new PrometheusWriter();
+        metrics.write(writer);
+
+        // caches
+        var statistics = cacheRegistry.getStatistics();
+        writer.family("corpus_cache_size", "gauge", "Entries in each cache.");
+        for (var cache : statistics) {
+            writer.sample("corpus_cache_size", "cache", cache.name(), cache.size());
+        }
+        writer.family("corpus_cache_weight_bytes", "gauge", "Weight of the entries in each cache.");
+        for (var cache : statistics) {
+            writer.sample("corpus_cache_weight_bytes", "cache", cache.name(), cache.weight());
+        }
+        writer.family("corpus_cache_hits_total", "counter", "Cache hits.");
+        for (var cache : statistics) {
+            writer.sample("corpus_cache_hits_total", "cache", cache.name(), cache.hitCount());
+        }
+        writer.family("corpus_cache_misses_total", "counter", "Cache misses.");
+        for (var cache : statistics) {
+            writer.sample("corpus_cache_misses_total", "cache", cache.name(), cache.missCount());
+        }
+        writer.family("corpus_cache_evictions_total", "counter", "Cache evictions.");
+        for (var cache : statistics) {
+            writer.sample("corpus_cache_evictions_total", "cache", cache.name(), cache.evictionCount());
+        }
+        return writer.toString();
+    }
+}
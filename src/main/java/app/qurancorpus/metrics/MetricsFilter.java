@@ -0,0 +1,55 @@
+package app.qurancorpus.metrics;
+
+import io.micronaut.core.async.publisher.Publishers;
+import io.micronaut.http.HttpAttributes;
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import io.micronaut.http.filter.ServerFilterPhase;
+import io.micronaut.web.router.MethodBasedRouteMatch;
+import org.reactivestreams.Publisher;
+
+import static java.lang.System.nanoTime;
+
+// Times every request, by controller method. For streamed responses, this is
+// the time until the response starts, not the time to send the whole body.
+@Filter("/**")
+public class MetricsFilter implements HttpServerFilter {
+    private static final String UNMATCHED = "unmatched";
+
+    private final Metrics metrics;
+
+    public MetricsFilter(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        var endpoint = getEndpoint(request);
+        var thread = Thread.currentThread();
+        var allocationStart = metrics.startAllocation();
+        var start = nanoTime();
+        return Publishers.map(chain.proceed(request), response -> {
+            metrics.recordRequest(endpoint, nanoTime() - start);
+
+            // Allocation is only counted when the response is built on the request thread.
+            if (Thread.currentThread() == thread) {
+                metrics.recordAllocation(endpoint, allocationStart);
+            }
+            return response;
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return ServerFilterPhase.METRICS.order();
+    }
+
+    private static String getEndpoint(HttpRequest<?> request) {
+        return request.getAttribute(HttpAttributes.ROUTE_MATCH, MethodBasedRouteMatch.class)
+                .map(route -> route.getDeclaringType().getSimpleName() + '.' + route.getMethodName())
+                .orElse(UNMATCHED);
+    }
+}
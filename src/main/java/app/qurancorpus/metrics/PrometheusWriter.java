@@ -0,0 +1,65 @@
+package app.qurancorpus.metrics;
+
+import java.math.BigDecimal;
+
+// Writes metrics in the Prometheus text exposition format (version 0.0.4).
+public class PrometheusWriter {
+    private final StringBuilder text = new StringBuilder();
+
+    public void family(String name, String type, String help) {
+        text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    public void sample(String name, String label, String labelValue, long value) {
+        writeName(name, label, labelValue, null);
+        text.append(' ').append(value).append('\n');
+    }
+
+    // Histograms are recorded as integers, and scaled down by 10^scale when
+    // written, so nanoseconds are written as seconds with a scale of 9.
+    public void histogram(String name, String label, String labelValue, Histogram histogram, int scale) {
+        var bounds = histogram.getBounds();
+        var counts = histogram.getCumulativeCounts();
+        for (var i = 0; i < counts.length; i++) {
+            var bound = i < bounds.length ? toDecimal(bounds[i], scale) : "+Inf";
+            writeName(name + "_bucket", label, labelValue, bound);
+            text.append(' ').append(counts[i]).append('\n');
+        }
+        writeName(name + "_sum", label, labelValue, null);
+        text.append(' ').append(toDecimal(histogram.getSum(), scale)).append('\n');
+        writeName(name + "_count", label, labelValue, null);
+        text.append(' ').append(counts[counts.length - 1]).append('\n');
+    }
+
+    private void writeName(String name, String label, String labelValue, String bound) {
+        text.append(name).append('{').append(label).append("=\"");
+        escape(labelValue);
+        text.append('"');
+        if (bound != null) {
+            text.append(",le=\"").append(bound).append('"');
+        }
+        text.append('}');
+    }
+
+    private void escape(String value) {
+        for (var i = 0; i < value.length(); i++) {
+            var ch = value.charAt(i);
+            switch (ch) {
+                case '\\' -> text.append("\\\\");
+                case '"' -> text.append("\\\"");
+                case '\n' -> text.append("\\n");
+                default -> text.append(ch);
+            }
+        }
+    }
+
+    private static String toDecimal(long value, int scale) {
+        return BigDecimal.valueOf(value, scale).stripTrailingZeros().toPlainString();
+    }
+
+    @Override
+    public String toString() {
+        return text.toString();
+    }
+}
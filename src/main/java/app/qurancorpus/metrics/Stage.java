@@ -0,0 +1,22 @@
+package app.qurancorpus.metrics;
+
+// The parts of building a response that are timed separately from the
+// endpoint as a whole.
+public enum Stage {
+    LocationParsing("location_parsing"),
+    PhoneticEncoding("phonetic_encoding"),
+    SegmentRendering("segment_rendering"),
+    TranslationLookup("translation_lookup"),
+    NlgGeneration("nlg_generation"),
+    Serialization("serialization");
+
+    private final String key;
+
+    Stage(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+}
@@ -0,0 +1,51 @@
+package app.qurancorpus.morphology;
+
+import io.micronaut.http.exceptions.HttpStatusException;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import static io.micronaut.http.HttpStatus.BAD_REQUEST;
+import static java.text.MessageFormat.format;
+import static java.util.Arrays.stream;
+import static java.util.Collections.unmodifiableSet;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+
+// The optional parts of token and verse responses, selected with fields=.
+// Parts that aren't selected are never computed.
+public enum Field {
+    Translation("translation"),
+    Phonetic("phonetic"),
+    Segments("segments"),
+    VerseMark("verseMark");
+
+    public static final Set<Field> ALL = unmodifiableSet(EnumSet.allOf(Field.class));
+
+    private static final Map<String, Field> keyMap
+            = stream(values()).collect(toMap(x -> x.key, identity()));
+
+    private final String key;
+
+    Field(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static Set<Field> parseFields(String fields) {
+        if (fields == null || fields.length() == 0) return ALL;
+        var set = EnumSet.noneOf(Field.class);
+        for (var key : fields.split(",")) {
+            var field = keyMap.get(key);
+            if (field == null) {
+                throw new HttpStatusException(BAD_REQUEST, format("Field {0} not supported.", key));
+            }
+            set.add(field);
+        }
+        return set;
+    }
+}
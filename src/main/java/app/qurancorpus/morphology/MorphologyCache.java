@@ -0,0 +1,27 @@
+package app.qurancorpus.morphology;
+
+import app.qurancorpus.cache.CacheRegistry;
+import app.qurancorpus.cache.LruCache;
+import app.qurancorpus.http.EncodedBody;
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+
+import java.util.function.Function;
+
+@Singleton
+public class MorphologyCache {
+    private final LruCache<MorphologyQuery, EncodedBody> cache;
+
+    public MorphologyCache(
+            CacheRegistry cacheRegistry,
+            @Value("${corpus.morphology.cache-size:1000}") int cacheSize,
+            @Value("${corpus.morphology.cache-weight:67108864}") long cacheWeight) {
+
+        cache = new LruCache<>(cacheSize, cacheWeight, EncodedBody::weight);
+        cacheRegistry.register("morphology", cache);
+    }
+
+    public EncodedBody get(MorphologyQuery query, Function<MorphologyQuery, byte[]> loader) {
+        return cache.get(query, x -> EncodedBody.encode(loader.apply(x)));
+    }
+}
@@ -1,109 +1,194 @@
 package app.qurancorpus.morphology;
 
-import app.qurancorpus.orthography.*;
-import app.qurancorpus.translation.Translation;
-import app.qurancorpus.translation.TranslationResponse;
+import app.qurancorpus.http.LinePublisher;
+import app.qurancorpus.json.JsonFragments;
+import app.qurancorpus.metrics.Metrics;
+import app.qurancorpus.orthography.Document;
+import app.qurancorpus.orthography.Location;
+import app.qurancorpus.orthography.LocationService;
 import app.qurancorpus.translation.TranslationService;
+import io.micronaut.context.annotation.Value;
 import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpResponse;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Header;
+import io.micronaut.http.annotation.Produces;
 import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.http.exceptions.HttpStatusException;
+import io.micronaut.scheduling.TaskExecutors;
+import io.netty.buffer.ByteBuf;
 import jakarta.inject.Inject;
+import jakarta.inject.Named;
+import org.reactivestreams.Publisher;
 
 import javax.validation.constraints.Max;
 import javax.validation.constraints.Min;
+import java.util.concurrent.ExecutorService;
 
+import static app.qurancorpus.http.Cbor.APPLICATION_CBOR;
+import static app.qurancorpus.json.JsonFragments.*;
+import static app.qurancorpus.metrics.Stage.LocationParsing;
+import static app.qurancorpus.morphology.Field.parseFields;
 import static app.qurancorpus.orthography.Location.parseLocation;
-import static java.util.Arrays.stream;
+import static io.micronaut.http.HttpHeaders.ACCEPT;
+import static io.micronaut.http.HttpHeaders.ACCEPT_ENCODING;
+import static io.micronaut.http.HttpStatus.BAD_REQUEST;
+import static io.micronaut.http.MediaType.APPLICATION_JSON;
 
 @Controller("/morphology")
 public class MorphologyController {
+    private static final byte[] CURSOR = bytes("\"cursor\":\"");
+    private static final byte[] QUOTE = bytes("\"");
+    private static final byte[] VERSES = bytes("\"verses\":[");
 
     @Inject
     Document document;
 
     @Inject
-    LocationService locationService;
+    TranslationService translationService;
 
     @Inject
-    TranslationService translationService;
+    TokenTransformer tokenTransformer;
 
     @Inject
-    OrthographyService orthographyService;
+    MorphologyCache morphologyCache;
 
     @Inject
-    TokenTransformer tokenTransformer;
+    VerseRenderer verseRenderer;
+
+    @Inject
+    LocationService locationService;
 
     @Inject
-    MorphologyGraph morphologyGraph;
+    Metrics metrics;
+
+    @Inject
+    @Named(TaskExecutors.IO)
+    ExecutorService ioExecutor;
+
+    @Value("${corpus.morphology.page-size:2000}")
+    int pageSize;
 
     @Get
-    public VerseResponse[] getMorphology(
+    @Produces({APPLICATION_JSON, APPLICATION_CBOR})
+    public HttpResponse<ByteBuf> getMorphology(
             @QueryValue String location,
             @Min(1) @Max(10) @QueryValue("n") int count,
             @Nullable @QueryValue("translation") String translationQuery,
-            @Nullable @QueryValue Boolean features) {
+            @Nullable @QueryValue Boolean features,
+            @Nullable @QueryValue String fields,
+            @Nullable @Header(ACCEPT) String accept,
+            @Nullable @Header(ACCEPT_ENCODING) String acceptEncoding) {
 
         // request
-        var _location = parseLocation(location);
-        var translations = getTranslations(translationQuery);
-        var _features = features != null && features;
-
-        // response
-        var verses = document.children()[_location.chapterNumber() - 1].verses();
+        var _location = metrics.time(LocationParsing, () -> parseLocation(location));
+        var chapterNumber = _location.chapterNumber();
         var verseNumber = _location.verseNumber();
+        var verses = document.children()[chapterNumber - 1].verses();
         var verseCount = Math.min(count, Math.max(0, verses.length - verseNumber + 1));
-        var verseResponses = new VerseResponse[verseCount];
+        var query = new MorphologyQuery(
+                chapterNumber,
+                verseNumber,
+                verseCount,
+                translationQuery == null || translationQuery.length() == 0 ? null : translationQuery,
+                features != null && features,
+                parseFields(fields));
+
+        // response
+        return morphologyCache.get(query, this::getMorphology).toResponse(accept, acceptEncoding);
+    }
+
+    private byte[] getMorphology(MorphologyQuery query) {
+        var translations = translationService.getTranslations(query.translations());
+        var verses = document.children()[query.chapterNumber() - 1].verses();
+        var verseNumber = query.verseNumber();
+        var verseCount = query.verseCount();
+        var json = new JsonFragments();
+        json.add(OPEN_ARRAY);
         for (var i = 0; i < verseCount; i++) {
-            verseResponses[i] = getVerseResponse(verses[verseNumber++ - 1], translations, _features);
+            if (i > 0) {
+                json.add(COMMA);
+            }
+            verseRenderer.writeVerse(
+                    json,
+                    verses[verseNumber++ - 1],
+                    translations,
+                    query.features(),
+                    query.fields());
         }
-        return verseResponses;
+        json.add(CLOSE_ARRAY);
+        return json.toByteArray();
     }
 
-    @Get("word")
-    public WordMorphologyResponse getWordMorphology(@QueryValue String location) {
-        var token = document.getToken(parseLocation(location));
-        var wordMorphology = morphologyGraph.getWordMorphology(token);
-        return new WordMorphologyResponse(
-                tokenTransformer.getTokenResponse(token, false),
-                wordMorphology.summary(),
-                wordMorphology.segmentDescriptions(),
-                wordMorphology.arabicGrammar());
-    }
+    // Pages through a chapter, with pages of whole verses sized by token count.
+    // Pages are streamed a verse at a time rather than built in memory.
+    @Get("page")
+    public HttpResponse<Publisher<ByteBuf>> getMorphologyPage(
+            @Nullable @QueryValue String location,
+            @Nullable @QueryValue String cursor,
+            @Nullable @QueryValue("translation") String translationQuery,
+            @Nullable @QueryValue Boolean features,
+            @Nullable @QueryValue String fields) {
+
+        // first verse
+        var firstVerseSequenceNumber = getFirstVerseSequenceNumber(location, cursor);
+        var firstVerseLocation = locationService.getVerseLocation(firstVerseSequenceNumber);
+        var chapterVerseCount = document.getChild(firstVerseLocation.chapterNumber()).verses().length;
+        var lastVerseSequenceNumber = firstVerseSequenceNumber + chapterVerseCount - firstVerseLocation.verseNumber();
+
+        // The page ends after the verse that fills it, or at the end of the chapter.
+        var endVerseSequenceNumber = firstVerseSequenceNumber;
+        var tokenCount = 0;
+        while (endVerseSequenceNumber <= lastVerseSequenceNumber && tokenCount < pageSize) {
+            tokenCount += locationService.getVerse(endVerseSequenceNumber++).tokens().length;
+        }
 
-    private Translation[] getTranslations(String translationQuery) {
-        if (translationQuery == null || translationQuery.length() == 0) return null;
-        return stream(translationQuery.split(","))
-                .map(translationService::getTranslation)
-                .toArray(Translation[]::new);
+        // header
+        var header = new JsonFragments().add(OPEN_OBJECT);
+        if (endVerseSequenceNumber <= lastVerseSequenceNumber) {
+            var nextToken = locationService.getVerse(endVerseSequenceNumber).tokens()[0];
+            var nextCursor = MorphologyCursor.encode(locationService.getTokenSequenceNumber(nextToken.location()));
+            header.add(CURSOR).add(nextCursor).add(QUOTE).add(COMMA);
+        }
+        header.add(VERSES);
+
+        // verses
+        var translations = translationService.getTranslations(translationQuery);
+        var _features = features != null && features;
+        var _fields = parseFields(fields);
+        var verseCount = endVerseSequenceNumber - firstVerseSequenceNumber;
+        return HttpResponse.ok(new LinePublisher<>(verseCount, i -> {
+            var json = i == 0 ? header : new JsonFragments().add(COMMA);
+            var verse = locationService.getVerse(firstVerseSequenceNumber + i);
+            verseRenderer.writeVerse(json, verse, translations, _features, _fields);
+            if (i == verseCount - 1) {
+                json.add(CLOSE_ARRAY).add(CLOSE_OBJECT);
+            }
+            return json.toByteBuf();
+        }, ioExecutor));
     }
 
-    private VerseResponse getVerseResponse(Verse verse, Translation[] translations, boolean features) {
-        var tokens = verse.tokens();
-        var tokenCount = tokens.length;
-        var tokenResponses = new TokenResponse[tokenCount];
-        for (var i = 0; i < tokenCount; i++) {
-            tokenResponses[i] = tokenTransformer.getTokenResponse(tokens[i], features);
+    private int getFirstVerseSequenceNumber(String location, String cursor) {
+        if (cursor != null) {
+            var tokenSequenceNumber = MorphologyCursor.decode(cursor);
+            if (tokenSequenceNumber < 1 || tokenSequenceNumber > document.tokenCount()) {
+                throw new HttpStatusException(BAD_REQUEST, "Invalid cursor.");
+            }
+            var tokenLocation = locationService.getTokenLocation(tokenSequenceNumber);
+            return locationService.getVerseSequenceNumber(
+                    new Location(tokenLocation.chapterNumber(), tokenLocation.verseNumber()));
+        }
+        if (location != null) {
+            var verseLocation = metrics.time(LocationParsing, () -> parseLocation(location));
+            return locationService.getVerseSequenceNumber(verseLocation);
         }
-        var location = verse.location();
-        var verseSequenceNumber = locationService.getVerseSequenceNumber(location);
-        return new VerseResponse(
-                location.toArray(),
-                tokenResponses,
-                getTranslations(translations, verseSequenceNumber),
-                orthographyService.getVerseMark(verseSequenceNumber));
+        throw new HttpStatusException(BAD_REQUEST, "Expected a location or cursor.");
     }
 
-    private TranslationResponse[] getTranslations(Translation[] translations, int verseSequenceNumber) {
-        if (translations == null) return null;
-        var n = translations.length;
-        var responses = new TranslationResponse[n];
-        for (var i = 0; i < n; i++) {
-            var translation = translations[i];
-            responses[i] = new TranslationResponse(
-                    translation.name(),
-                    translation.getVerse(verseSequenceNumber));
-        }
-        return responses;
+    @Get("word")
+    public WordMorphologyResponse getWordMorphology(@QueryValue String location) {
+        var token = document.getToken(metrics.time(LocationParsing, () -> parseLocation(location)));
+        return tokenTransformer.getWordMorphologyResponse(token);
     }
-}
\ No newline at end of file
+}
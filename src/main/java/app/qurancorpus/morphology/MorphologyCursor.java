@@ -0,0 +1,34 @@
+package app.qurancorpus.morphology;
+
+import io.micronaut.http.exceptions.HttpStatusException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+import static io.micronaut.http.HttpStatus.BAD_REQUEST;
+
+// An opaque paging cursor. It holds the sequence number of the first token of
+// the next page, so a page resumes without searching.
+public class MorphologyCursor {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private MorphologyCursor() {
+    }
+
+    public static String encode(int tokenSequenceNumber) {
+        return ENCODER.encodeToString(ByteBuffer.allocate(Integer.BYTES).putInt(tokenSequenceNumber).array());
+    }
+
+    public static int decode(String cursor) {
+        try {
+            var bytes = DECODER.decode(cursor);
+            if (bytes.length == Integer.BYTES) {
+                return ByteBuffer.wrap(bytes).getInt();
+            }
+        } catch (IllegalArgumentException e) {
+            // fall through
+        }
+        throw new HttpStatusException(BAD_REQUEST, "Invalid cursor.");
+    }
+}
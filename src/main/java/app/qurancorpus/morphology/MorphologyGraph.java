@@ -3,26 +3,55 @@ package app.qurancorpus.morphology;
 import app.qurancorpus.nlg.ArabicGrammarGenerator;
 import app.qurancorpus.nlg.SegmentDescriptionGenerator;
 import app.qurancorpus.nlg.SummaryGenerator;
-import app.qurancorpus.orthography.Location;
+import app.qurancorpus.orthography.LocationService;
 import app.qurancorpus.orthography.Token;
 import memseqdb.Graph;
 
-import java.util.Map;
-
 import static app.qurancorpus.morphology.Morphology.getStem;
 import static app.qurancorpus.morphology.Morphology.isDeterminerAl;
 import static app.qurancorpus.morphology.PartOfSpeech.Determiner;
+import static java.lang.System.arraycopy;
+import static java.util.Arrays.copyOfRange;
 
 public class MorphologyGraph implements Graph<Token, Segment[]> {
-    private final Map<Location, Segment[]> segmentMap;
+    private final LocationService locationService;
+    private final Segment[] segments;
+    private final int[] offsets;
+
+    public MorphologyGraph(LocationService locationService, Segment[][] tokenSegments) {
+        this.locationService = locationService;
+
+        // The segments for token n are stored at offsets[n - 1] until offsets[n].
+        var tokenCount = tokenSegments.length;
+        offsets = new int[tokenCount + 1];
+        var segmentCount = 0;
+        for (var i = 0; i < tokenCount; i++) {
+            offsets[i] = segmentCount;
+            segmentCount += tokenSegments[i].length;
+        }
+        offsets[tokenCount] = segmentCount;
 
-    public MorphologyGraph(Map<Location, Segment[]> segmentMap) {
-        this.segmentMap = segmentMap;
+        segments = new Segment[segmentCount];
+        for (var i = 0; i < tokenCount; i++) {
+            arraycopy(tokenSegments[i], 0, segments, offsets[i], tokenSegments[i].length);
+        }
     }
 
     @Override
     public Segment[] query(Token token) {
-        return segmentMap.get(token.location());
+        return getSegments(locationService.getTokenSequenceNumber(token.location()));
+    }
+
+    public int getSegmentCount(int tokenSequenceNumber) {
+        return offsets[tokenSequenceNumber] - offsets[tokenSequenceNumber - 1];
+    }
+
+    public Segment getSegment(int tokenSequenceNumber, int index) {
+        return segments[offsets[tokenSequenceNumber - 1] + index];
+    }
+
+    public Segment[] getSegments(int tokenSequenceNumber) {
+        return copyOfRange(segments, offsets[tokenSequenceNumber - 1], offsets[tokenSequenceNumber]);
     }
 
     public WordMorphology getWordMorphology(Token token) {
@@ -3,43 +3,81 @@ package app.qurancorpus.morphology;
 import app.qurancorpus.lexicography.LemmaService;
 import app.qurancorpus.morphology.segmentation.Segmenter;
 import app.qurancorpus.orthography.Document;
-import app.qurancorpus.orthography.Location;
-import io.micronaut.context.annotation.Factory;
-import jakarta.inject.Singleton;
+import app.qurancorpus.orthography.LocationService;
+import app.qurancorpus.snapshot.CorpusSnapshot;
 import lombok.SneakyThrows;
 import memseqdb.GraphLoader;
 
-import java.util.HashMap;
-
 import static app.qurancorpus.ResourceReader.readResource;
+import static java.util.stream.IntStream.range;
 
-@Factory
 public class MorphologyLoader implements GraphLoader<MorphologyGraph> {
     private final Document document;
+    private final LocationService locationService;
     private final LemmaService lemmaService;
+    private final CorpusSnapshot snapshot;
+
+    public MorphologyLoader(
+            Document document,
+            LocationService locationService,
+            LemmaService lemmaService,
+            CorpusSnapshot snapshot) {
 
-    public MorphologyLoader(Document document, LemmaService lemmaService) {
         this.document = document;
+        this.locationService = locationService;
         this.lemmaService = lemmaService;
+        this.snapshot = snapshot;
     }
 
     @Override
-    @Singleton
-    @SneakyThrows
     public MorphologyGraph load() {
-        var segmenter = new Segmenter(lemmaService);
-        var segmentMap = new HashMap<Location, Segment[]>();
-        try (var reader = readResource("/data/morphology.txt")) {
-            for (var chapter : document.children()) {
-                for (var verse : chapter.verses()) {
-                    for (var token : verse.tokens()) {
-                        var morphology = reader.readLine();
-                        var segments = segmenter.getSegments(token, morphology);
-                        segmentMap.put(token.location(), segments);
-                    }
+        var reader = snapshot.getReader();
+        var segments = reader != null
+                ? reader.readSegments(document, lemmaService)
+                : readSegments(true);
+        return new MorphologyGraph(locationService, segments);
+    }
+
+    Segment[][] readSegments(boolean parallel) {
+        var morphology = readMorphology();
+        var chapters = document.children();
+        var chapterCount = chapters.length;
+
+        // chapter-aligned chunks
+        var offsets = new int[chapterCount];
+        var tokenCount = 0;
+        for (var i = 0; i < chapterCount; i++) {
+            offsets[i] = tokenCount;
+            for (var verse : chapters[i].verses()) {
+                tokenCount += verse.tokens().length;
+            }
+        }
+
+        // segment each chunk with its own segmenter
+        var segments = new Segment[tokenCount][];
+        var chunks = range(0, chapterCount);
+        (parallel ? chunks.parallel() : chunks).forEach(i -> {
+            var segmenter = new Segmenter(lemmaService);
+            var tokenIndex = offsets[i];
+            for (var verse : chapters[i].verses()) {
+                for (var token : verse.tokens()) {
+                    segments[tokenIndex] = segmenter.getSegments(token, morphology[tokenIndex]);
+                    tokenIndex++;
                 }
             }
+        });
+        return segments;
+    }
+
+    @SneakyThrows
+    private String[] readMorphology() {
+        var tokenCount = document.tokenCount();
+        var morphology = new String[tokenCount];
+        try (var reader = readResource("/data/morphology.txt")) {
+            for (var i = 0; i < tokenCount; i++) {
+                morphology[i] = reader.readLine();
+            }
         }
-        return new MorphologyGraph(segmentMap);
+        return morphology;
     }
-}
\ No newline at end of file
+}
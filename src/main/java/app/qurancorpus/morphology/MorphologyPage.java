@@ -0,0 +1,9 @@
+package app.qurancorpus.morphology;
+
+import app.qurancorpus.orthography.VerseResponse;
+
+// A page of /morphology/page. The cursor is missing on a chapter's last page.
+public record MorphologyPage(
+        String cursor,
+        VerseResponse[] verses) {
+}
@@ -0,0 +1,13 @@
+package app.qurancorpus.morphology;
+
+import java.util.Set;
+
+// A normalized /morphology request, used as the response cache key.
+public record MorphologyQuery(
+        int chapterNumber,
+        int verseNumber,
+        int verseCount,
+        String translations,
+        boolean features,
+        Set<Field> fields) {
+}
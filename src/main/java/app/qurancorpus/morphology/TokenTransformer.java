@@ -1,6 +1,7 @@
 package app.qurancorpus.morphology;
 
-import app.qurancorpus.arabic.encoding.phonetic.PhoneticContext;
+import app.qurancorpus.arabic.encoding.phonetic.PhoneticService;
+import app.qurancorpus.metrics.Metrics;
 import app.qurancorpus.morphology.segmentation.MorphologyWriter;
 import app.qurancorpus.orthography.LocationService;
 import app.qurancorpus.orthography.Token;
@@ -9,8 +10,11 @@ import app.qurancorpus.translation.TranslationService;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
-import static app.qurancorpus.arabic.encoding.phonetic.PhoneticEncoder.toPhonetic;
+import java.util.Set;
+
 import static app.qurancorpus.arabic.encoding.unicode.UnicodeEncoder.toUnicode;
+import static app.qurancorpus.metrics.Stage.*;
+import static app.qurancorpus.morphology.Field.*;
 
 @Singleton
 public class TokenTransformer {
@@ -24,27 +28,71 @@ public class TokenTransformer {
     @Inject
     MorphologyGraph morphologyGraph;
 
+    @Inject
+    PhoneticService phoneticService;
+
+    @Inject
+    WordMorphologyService wordMorphologyService;
+
+    @Inject
+    Metrics metrics;
+
+    public WordMorphologyResponse getWordMorphologyResponse(Token token) {
+        var wordMorphology = wordMorphologyService.getWordMorphology(token);
+        return new WordMorphologyResponse(
+                getTokenResponse(token, false),
+                wordMorphology.summary(),
+                wordMorphology.segmentDescriptions(),
+                wordMorphology.arabicGrammar());
+    }
+
     public TokenResponse getTokenResponse(Token token, boolean features) {
-        var segments = morphologyGraph.query(token);
-        var segmentCount = segments.length;
+        return getTokenResponse(token, features, Field.ALL);
+    }
+
+    public TokenResponse getTokenResponse(Token token, boolean features, Set<Field> fields) {
+        var location = token.location();
+        var tokenSequenceNumber = locationService.getTokenSequenceNumber(location);
+        return new TokenResponse(
+                location.toArray(),
+                fields.contains(Translation) ? getTranslation(tokenSequenceNumber) : null,
+                fields.contains(Phonetic) ? getPhonetic(tokenSequenceNumber) : null,
+                fields.contains(Segments) ? getSegmentResponses(tokenSequenceNumber, features) : null);
+    }
+
+    private String getTranslation(int tokenSequenceNumber) {
+        var start = metrics.start();
+        var translation = translationService.getTokenTranslation(tokenSequenceNumber);
+        metrics.record(TranslationLookup, start);
+        return translation;
+    }
+
+    private String getPhonetic(int tokenSequenceNumber) {
+        var start = metrics.start();
+        var phonetic = phoneticService.getPhonetic(tokenSequenceNumber);
+        metrics.record(PhoneticEncoding, start);
+        return phonetic;
+    }
+
+    // Timed for each token rather than each segment, since a segment lookup
+    // takes less time than reading the clock.
+    private SegmentResponse[] getSegmentResponses(int tokenSequenceNumber, boolean features) {
+        var start = metrics.start();
+        var segmentCount = morphologyGraph.getSegmentCount(tokenSequenceNumber);
         var segmentResponses = new SegmentResponse[segmentCount];
         var morphologyWriter = features ? new MorphologyWriter() : null;
 
         for (var i = 0; i < segmentCount; i++) {
-            var segment = segments[i];
+            var segment = morphologyGraph.getSegment(tokenSequenceNumber, i);
+            var arabicText = toUnicode(segment.getArabicText());
             var pronounType = features ? null : segment.getPronounType();
             segmentResponses[i] = new SegmentResponse(
-                    toUnicode(segment.getArabicText()),
+                    arabicText,
                     features ? null : segment.getPartOfSpeech().toString(),
                     pronounType != null ? pronounType.tag() : null,
                     features ? morphologyWriter.write(segment) : null);
         }
-
-        var location = token.location();
-        return new TokenResponse(
-                location.toArray(),
-                translationService.getTokenTranslation(locationService.getTokenSequenceNumber(location)),
-                toPhonetic(new PhoneticContext(morphologyGraph, token), token.arabicText()),
-                segmentResponses);
+        metrics.record(SegmentRendering, start);
+        return segmentResponses;
     }
 }
\ No newline at end of file
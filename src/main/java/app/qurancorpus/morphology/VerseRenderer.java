@@ -0,0 +1,139 @@
+package app.qurancorpus.morphology;
+
+import app.qurancorpus.json.JsonFragments;
+import app.qurancorpus.metrics.Metrics;
+import app.qurancorpus.orthography.*;
+import app.qurancorpus.translation.Translation;
+import app.qurancorpus.translation.TranslationResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.inject.Singleton;
+import lombok.SneakyThrows;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static app.qurancorpus.json.JsonFragments.*;
+import static app.qurancorpus.metrics.Stage.Serialization;
+
+// Renders verses as JSON, in the same form as VerseResponse. Tokens and
+// translations never change, so each verse's fragments are rendered once by
+// Jackson and reused by every later response.
+@Singleton
+public class VerseRenderer {
+    private static final byte[] LOCATION = bytes("{\"location\":");
+    private static final byte[] TOKENS = bytes(",\"tokens\":");
+    private static final byte[] TRANSLATIONS = bytes(",\"translations\":[");
+    private static final byte[] VERSE_MARK = bytes(",\"verseMark\":");
+
+    private final TokenTransformer tokenTransformer;
+    private final LocationService locationService;
+    private final OrthographyService orthographyService;
+    private final ObjectMapper objectMapper;
+    private final Metrics metrics;
+    private final AtomicReferenceArray<byte[]> tokens;
+    private final AtomicReferenceArray<byte[]> tokensWithFeatures;
+    private final Map<String, AtomicReferenceArray<byte[]>> translations = new ConcurrentHashMap<>();
+    private final Map<VerseMark, byte[]> verseMarks = new EnumMap<>(VerseMark.class);
+
+    public VerseRenderer(
+            Document document,
+            TokenTransformer tokenTransformer,
+            LocationService locationService,
+            OrthographyService orthographyService,
+            ObjectMapper objectMapper,
+            Metrics metrics) {
+
+        this.tokenTransformer = tokenTransformer;
+        this.locationService = locationService;
+        this.orthographyService = orthographyService;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+
+        var verseCount = document.verseCount();
+        tokens = new AtomicReferenceArray<>(verseCount);
+        tokensWithFeatures = new AtomicReferenceArray<>(verseCount);
+        for (var verseMark : VerseMark.values()) {
+            verseMarks.put(verseMark, render(verseMark));
+        }
+    }
+
+    public void writeVerse(
+            JsonFragments json,
+            Verse verse,
+            Translation[] translations,
+            boolean features,
+            Set<Field> fields) {
+
+        var location = verse.location();
+        var verseSequenceNumber = locationService.getVerseSequenceNumber(location);
+
+        // Only complete tokens are cached. Other field selections are rarer,
+        // and their responses are cached as a whole.
+        json.add(LOCATION).add(location.toArray());
+        json.add(TOKENS).add(fields.equals(Field.ALL)
+                ? getTokens(verse, verseSequenceNumber, features)
+                : render(getTokenResponses(verse, features, fields)));
+
+        // translations
+        if (translations != null && translations.length > 0) {
+            json.add(TRANSLATIONS);
+            for (var i = 0; i < translations.length; i++) {
+                if (i > 0) {
+                    json.add(COMMA);
+                }
+                json.add(getTranslation(translations[i], verseSequenceNumber));
+            }
+            json.add(CLOSE_ARRAY);
+        }
+
+        // verse mark
+        var verseMark = fields.contains(Field.VerseMark) ? orthographyService.getVerseMark(verseSequenceNumber) : null;
+        if (verseMark != null) {
+            json.add(VERSE_MARK).add(verseMarks.get(verseMark));
+        }
+        json.add(CLOSE_OBJECT);
+    }
+
+    private byte[] getTokens(Verse verse, int verseSequenceNumber, boolean features) {
+        var cache = features ? tokensWithFeatures : tokens;
+        var json = cache.get(verseSequenceNumber - 1);
+        if (json == null) {
+            json = render(getTokenResponses(verse, features, Field.ALL));
+            cache.set(verseSequenceNumber - 1, json);
+        }
+        return json;
+    }
+
+    private TokenResponse[] getTokenResponses(Verse verse, boolean features, Set<Field> fields) {
+        var tokens = verse.tokens();
+        var tokenCount = tokens.length;
+        var tokenResponses = new TokenResponse[tokenCount];
+        for (var i = 0; i < tokenCount; i++) {
+            tokenResponses[i] = tokenTransformer.getTokenResponse(tokens[i], features, fields);
+        }
+        return tokenResponses;
+    }
+
+    private byte[] getTranslation(Translation translation, int verseSequenceNumber) {
+        var cache = translations.computeIfAbsent(
+                translation.key(),
+                x -> new AtomicReferenceArray<>(translation.verses().length));
+        var json = cache.get(verseSequenceNumber - 1);
+        if (json == null) {
+            json = render(new TranslationResponse(translation.name(), translation.getVerse(verseSequenceNumber)));
+            cache.set(verseSequenceNumber - 1, json);
+        }
+        return json;
+    }
+
+    @SneakyThrows
+    private byte[] render(Object value) {
+        var start = metrics.start();
+        var json = objectMapper.writeValueAsBytes(value);
+        metrics.record(Serialization, start);
+        return json;
+    }
+}
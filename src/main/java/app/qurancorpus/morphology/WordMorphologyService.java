@@ -0,0 +1,57 @@
+package app.qurancorpus.morphology;
+
+import app.qurancorpus.cache.LruCache;
+import app.qurancorpus.metrics.Metrics;
+import app.qurancorpus.orthography.LocationService;
+import app.qurancorpus.orthography.Token;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static app.qurancorpus.metrics.Stage.NlgGeneration;
+import static java.lang.Math.min;
+import static java.lang.System.currentTimeMillis;
+import static java.util.stream.IntStream.rangeClosed;
+
+public class WordMorphologyService {
+    private static final Logger log = LoggerFactory.getLogger(WordMorphologyService.class);
+    private final MorphologyGraph morphologyGraph;
+    private final LocationService locationService;
+    private final Metrics metrics;
+    private final LruCache<Integer, WordMorphology> cache;
+
+    public WordMorphologyService(
+            MorphologyGraph morphologyGraph,
+            LocationService locationService,
+            Metrics metrics,
+            int cacheSize) {
+
+        this.morphologyGraph = morphologyGraph;
+        this.locationService = locationService;
+        this.metrics = metrics;
+        cache = new LruCache<>(cacheSize);
+    }
+
+    public WordMorphology getWordMorphology(Token token) {
+        return getWordMorphology(locationService.getTokenSequenceNumber(token.location()));
+    }
+
+    public WordMorphology getWordMorphology(int tokenSequenceNumber) {
+        return cache.get(
+                tokenSequenceNumber,
+                x -> metrics.time(NlgGeneration, () -> morphologyGraph.getWordMorphology(locationService.getToken(x))));
+    }
+
+    public void warmUp(int tokenCount) {
+
+        // Generate descriptions in parallel, for as many tokens as the cache can hold.
+        var start = currentTimeMillis();
+        var count = min(tokenCount, cache.getCapacity());
+        rangeClosed(1, count).parallel().forEach(this::getWordMorphology);
+        var elapsed = currentTimeMillis() - start;
+        log.info("Generated morphology for {} words in {} ms", count, elapsed);
+    }
+
+    public LruCache<Integer, WordMorphology> getCache() {
+        return cache;
+    }
+}
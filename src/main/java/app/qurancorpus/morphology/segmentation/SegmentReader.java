@@ -4,8 +4,6 @@ import app.qurancorpus.lexicography.Lemma;
 import app.qurancorpus.lexicography.LemmaService;
 import app.qurancorpus.morphology.*;
 
-import static app.qurancorpus.arabic.encoding.buckwalter.BuckwalterDecoder.fromBuckwalter;
-
 public class SegmentReader {
     private final LemmaService lemmaService;
     private final Lemma prefixWa;
@@ -89,7 +87,7 @@ public class SegmentReader {
             var tag = tags[i];
 
             if (tag.startsWith("ROOT:")) {
-                segment.setRoot(fromBuckwalter(tag.substring(5)));
+                segment.setRoot(lemmaService.getRoot(tag.substring(5)));
                 continue;
             }
 
@@ -9,7 +9,6 @@ import app.qurancorpus.orthography.Token;
 
 import java.util.ArrayList;
 
-import static app.qurancorpus.arabic.encoding.buckwalter.BuckwalterDecoder.fromBuckwalter;
 import static app.qurancorpus.arabic.encoding.buckwalter.BuckwalterEncoder.toBuckwalter;
 
 public class Segmenter {
@@ -468,7 +467,7 @@ public class Segmenter {
         // Root.
         int size = item.length();
         if (item.startsWith("ROOT:")) {
-            segment.setRoot(fromBuckwalter(item.substring(5)));
+            segment.setRoot(lemmaService.getRoot(item.substring(5)));
             return true;
         }
 
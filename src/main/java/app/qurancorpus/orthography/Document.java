@@ -1,13 +1,16 @@
 package app.qurancorpus.orthography;
 
+import app.qurancorpus.arabic.ArabicText;
 import memseqdb.SeqGraphNode;
 
 public class Document implements SeqGraphNode<Chapter> {
+    private final ArabicText arabicText;
     private final Chapter[] chapters;
     private final int verseCount;
     private final int tokenCount;
 
-    public Document(Chapter[] chapters) {
+    public Document(ArabicText arabicText, Chapter[] chapters) {
+        this.arabicText = arabicText;
         this.chapters = chapters;
 
         // counts
@@ -33,6 +36,10 @@ public class Document implements SeqGraphNode<Chapter> {
         return chapters;
     }
 
+    public ArabicText arabicText() {
+        return arabicText;
+    }
+
     public int verseCount() {
         return verseCount;
     }
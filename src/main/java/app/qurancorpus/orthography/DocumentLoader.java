@@ -1,25 +1,29 @@
 package app.qurancorpus.orthography;
 
-import app.qurancorpus.orthography.tanzil.TanzilChapter;
+import app.qurancorpus.arabic.ArabicText;
+import app.qurancorpus.arabic.ArabicTextBuilder;
 import app.qurancorpus.orthography.tanzil.TanzilReader;
-import io.micronaut.context.annotation.Factory;
-import jakarta.inject.Singleton;
+import app.qurancorpus.snapshot.CorpusSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static app.qurancorpus.arabic.encoding.unicode.UnicodeDecoder.fromUnicode;
 import static java.lang.System.currentTimeMillis;
 
-@Factory
 public class DocumentLoader {
     private static final Logger log = LoggerFactory.getLogger(DocumentLoader.class);
+    private final CorpusSnapshot snapshot;
+
+    public DocumentLoader(CorpusSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
 
-    @Singleton
     public Document load() {
         var start = currentTimeMillis();
-        var document = readDocument();
+        var reader = snapshot.getReader();
+        var document = reader != null ? reader.readDocument() : readDocument();
         var elapsed = currentTimeMillis() - start;
-        log.info("Document loaded in {} ms", elapsed);
+        log.info("Document loaded {} in {} ms", reader != null ? "from snapshot" : "from text", elapsed);
         return document;
     }
 
@@ -27,24 +31,47 @@ public class DocumentLoader {
         var reader = new TanzilReader();
         var tanzilChapters = reader.readChapters();
         var chapterCount = tanzilChapters.size();
-        var chapters = new Chapter[chapterCount];
+
+        // decode
+        var verseText = new ArabicText[chapterCount][];
+        var characterCount = 0;
         for (var i = 0; i < chapterCount; i++) {
-            chapters[i] = buildChapter(i + 1, tanzilChapters.get(i));
+            var tanzilVerses = tanzilChapters.get(i).verses();
+            var verseCount = tanzilVerses.size();
+            verseText[i] = new ArabicText[verseCount];
+            for (var j = 0; j < verseCount; j++) {
+                verseText[i][j] = fromUnicode(tanzilVerses.get(j));
+                characterCount += verseText[i][j].getLength() + 1;
+            }
         }
-        return new Document(chapters);
-    }
 
-    private Chapter buildChapter(int chapterNumber, TanzilChapter chapter) {
-        var tanzilVerses = chapter.verses();
-        var verseCount = tanzilVerses.size();
-        var verses = new Verse[verseCount];
-        for (var i = 0; i < verseCount; i++) {
-            var verseNumber = i + 1;
-            var location = new Location(chapterNumber, verseNumber);
-            var arabicText = fromUnicode(tanzilVerses.get(i));
-            var tokens = new Tokenizer(chapterNumber, verseNumber, arabicText).getTokens();
-            verses[i] = new Verse(location, arabicText, tokens.toArray(new Token[0]));
+        // Pack the text for the whole corpus into a single buffer, with verses
+        // delimited by whitespace. Verses, tokens and segments are views into it.
+        var builder = new ArabicTextBuilder(characterCount);
+        for (var chapter : verseText) {
+            for (var verse : chapter) {
+                builder.add(verse);
+                builder.addWhitespace();
+            }
+        }
+        var arabicText = builder.toArabicText();
+
+        var chapters = new Chapter[chapterCount];
+        var position = 0;
+        for (var i = 0; i < chapterCount; i++) {
+            var chapterNumber = i + 1;
+            var verseCount = verseText[i].length;
+            var verses = new Verse[verseCount];
+            for (var j = 0; j < verseCount; j++) {
+                var verseNumber = j + 1;
+                var length = verseText[i][j].getLength();
+                var text = arabicText.substring(position, position + length);
+                var tokens = new Tokenizer(chapterNumber, verseNumber, text).getTokens();
+                verses[j] = new Verse(new Location(chapterNumber, verseNumber), text, tokens.toArray(new Token[0]));
+                position += length + 1;
+            }
+            chapters[i] = new Chapter(chapterNumber, verses);
         }
-        return new Chapter(chapterNumber, verses);
+        return new Document(arabicText, chapters);
     }
-}
\ No newline at end of file
+}
@@ -1,50 +1,85 @@
 package app.qurancorpus.orthography;
 
-import jakarta.inject.Singleton;
-import lombok.SneakyThrows;
-import memseqdb.Seq;
-
-import java.util.ArrayList;
-import java.util.List;
-
 import static java.text.MessageFormat.format;
 
-@Singleton
 public class LocationService {
-    private final Seq<Location> verseSequenceNumbers;
-    private final Seq<Location> tokenSequenceNumbers;
+    private final int chapterCount;
+    private final int[] verseOffsets;
+    private final int[] tokenOffsets;
+    private final Verse[] verses;
+    private final Token[] tokens;
 
-    @SneakyThrows
     public LocationService(Document document) {
-        var verseLocations = new ArrayList<Location>();
-        var tokenLocations = new ArrayList<Location>();
+        var chapters = document.children();
+        chapterCount = chapters.length;
+        verses = new Verse[document.verseCount()];
+        tokens = new Token[document.tokenCount()];
 
-        for (var chapter : document.children()) {
-            for (var verse : chapter.verses()) {
-                verseLocations.add(verse.location());
+        // Cumulative offsets: the first verse of chapter n has sequence number
+        // verseOffsets[n - 1] + 1, and the first token of verse n has sequence
+        // number tokenOffsets[n - 1] + 1.
+        verseOffsets = new int[chapterCount + 1];
+        tokenOffsets = new int[verses.length + 1];
+        var verseCount = 0;
+        var tokenCount = 0;
+        for (var i = 0; i < chapterCount; i++) {
+            verseOffsets[i] = verseCount;
+            for (var verse : chapters[i].verses()) {
+                tokenOffsets[verseCount] = tokenCount;
+                verses[verseCount++] = verse;
                 for (var token : verse.tokens()) {
-                    tokenLocations.add(token.location());
+                    tokens[tokenCount++] = token;
                 }
             }
         }
-
-        verseSequenceNumbers = new Seq<>(verseLocations);
-        tokenSequenceNumbers = new Seq<>(tokenLocations);
+        verseOffsets[chapterCount] = verseCount;
+        tokenOffsets[verseCount] = tokenCount;
     }
 
     public int getVerseSequenceNumber(Location location) {
-        var sequenceNumber = verseSequenceNumbers.getSequenceNumber(location);
-        if (sequenceNumber == 0) {
+        var verseIndex = getVerseIndex(location);
+        if (verseIndex < 0 || location.tokenNumber() != 0) {
             throw new UnsupportedOperationException(format("Verse {0} not found.", location));
         }
-        return sequenceNumber;
+        return verseIndex + 1;
     }
 
     public int getTokenSequenceNumber(Location location) {
-        var sequenceNumber = tokenSequenceNumbers.getSequenceNumber(location);
-        if (sequenceNumber == 0) {
+        var verseIndex = getVerseIndex(location);
+        var tokenNumber = location.tokenNumber();
+        if (verseIndex < 0
+                || tokenNumber < 1
+                || tokenNumber > tokenOffsets[verseIndex + 1] - tokenOffsets[verseIndex]) {
             throw new UnsupportedOperationException(format("Token {0} not found.", location));
         }
-        return sequenceNumber;
+        return tokenOffsets[verseIndex] + tokenNumber;
+    }
+
+    public Verse getVerse(int verseSequenceNumber) {
+        return verses[verseSequenceNumber - 1];
+    }
+
+    public Token getToken(int tokenSequenceNumber) {
+        return tokens[tokenSequenceNumber - 1];
+    }
+
+    public Location getVerseLocation(int verseSequenceNumber) {
+        return verses[verseSequenceNumber - 1].location();
+    }
+
+    public Location getTokenLocation(int tokenSequenceNumber) {
+        return tokens[tokenSequenceNumber - 1].location();
+    }
+
+    private int getVerseIndex(Location location) {
+        var chapterNumber = location.chapterNumber();
+        if (chapterNumber < 1 || chapterNumber > chapterCount) {
+            return -1;
+        }
+        var verseNumber = location.verseNumber();
+        if (verseNumber < 1 || verseNumber > verseOffsets[chapterNumber] - verseOffsets[chapterNumber - 1]) {
+            return -1;
+        }
+        return verseOffsets[chapterNumber - 1] + verseNumber - 1;
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,6 @@
 package app.qurancorpus.orthography;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.inject.Singleton;
 import lombok.SneakyThrows;
 import memseqdb.SeqItem;
 import memseqdb.SparseSeq;
@@ -13,7 +12,6 @@ import static app.qurancorpus.orthography.PauseMark.PAUSE_MARKS;
 import static java.lang.Integer.parseInt;
 import static java.util.Arrays.stream;
 
-@Singleton
 public class OrthographyService {
     private final ChapterMetadata[] chapters;
     private final SparseSeq<VerseMark> verseMarks;
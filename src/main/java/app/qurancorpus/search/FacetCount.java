@@ -0,0 +1,4 @@
+package app.qurancorpus.search;
+
+public record FacetCount(String value, int count, FacetCount[] facets) {
+}
@@ -0,0 +1,10 @@
+package app.qurancorpus.search;
+
+// The values of a facet, with the bitset words of each value. Chapters are
+// counted by segment range instead, so have no words.
+record FacetDimension(String[] values, long[][] words, boolean isChapter) {
+
+    int size() {
+        return values.length;
+    }
+}
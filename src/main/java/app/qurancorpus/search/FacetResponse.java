@@ -0,0 +1,4 @@
+package app.qurancorpus.search;
+
+public record FacetResponse(int segmentCount, FacetCount[] facets) {
+}
@@ -0,0 +1,175 @@
+package app.qurancorpus.search;
+
+import io.micronaut.http.exceptions.HttpStatusException;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static io.micronaut.http.HttpStatus.BAD_REQUEST;
+import static java.text.MessageFormat.format;
+import static java.util.Arrays.copyOf;
+
+// Counts segments grouped by one or two facets, which are features or chapters.
+// Chapters partition the corpus, so each chapter is counted in parallel with
+// popcounts over its range of words, and the counts are summed. Unfiltered
+// counts are computed at load time.
+public class Facets {
+    private static final String CHAPTER = "chapter";
+
+    private final FeatureIndex featureIndex;
+    private final Map<String, FacetResponse> unfiltered = new HashMap<>();
+
+    public Facets(FeatureIndex featureIndex) {
+        this.featureIndex = featureIndex;
+
+        var keys = new ArrayList<String>();
+        keys.add(CHAPTER);
+        for (var feature : Feature.values()) {
+            if (!feature.isSparse()) {
+                keys.add(feature.key());
+            }
+        }
+        for (var key : keys) {
+            unfiltered.put(key, count(null, key, null));
+            for (var key2 : keys) {
+                if (!key2.equals(key)) {
+                    unfiltered.put(key + ',' + key2, count(null, key, key2));
+                }
+            }
+        }
+    }
+
+    public FacetResponse getFacets(String query, String facets) {
+        var keys = facets.split(",");
+        if (keys.length > 2 || (keys.length == 2 && keys[0].equals(keys[1]))) {
+            throw new HttpStatusException(BAD_REQUEST, "Expected one or two facets.");
+        }
+        if (query == null || query.isBlank()) {
+            var response = unfiltered.get(facets);
+            if (response != null) {
+                return response;
+            }
+        }
+
+        // Unsupported facets are reported when counted.
+        var filter = query != null && !query.isBlank() ? FeatureQuery.evaluate(featureIndex, query) : null;
+        return count(filter, keys[0], keys.length > 1 ? keys[1] : null);
+    }
+
+    private FacetResponse count(BitSet filter, String key, String key2) {
+        var dimension = getDimension(key);
+        var dimension2 = key2 != null ? getDimension(key2) : null;
+        var filterWords = filter != null ? copyOf(filter.toLongArray(), featureIndex.getWordCount()) : null;
+
+        // Count each chapter in parallel, then sum.
+        var counts = IntStream.rangeClosed(1, featureIndex.getChapterCount())
+                .parallel()
+                .mapToObj(chapterNumber -> count(filterWords, dimension, dimension2, chapterNumber))
+                .reduce(Facets::add)
+                .orElseThrow();
+
+        // response
+        var facets = new ArrayList<FacetCount>();
+        for (var i = 0; i < dimension.size(); i++) {
+            var count = 0;
+            FacetCount[] facets2 = null;
+            if (dimension2 != null) {
+                var facetCounts2 = new ArrayList<FacetCount>();
+                for (var j = 0; j < dimension2.size(); j++) {
+                    if (counts[i][j] > 0) {
+                        facetCounts2.add(new FacetCount(dimension2.values()[j], counts[i][j], null));
+                        count += counts[i][j];
+                    }
+                }
+                facets2 = facetCounts2.toArray(FacetCount[]::new);
+            } else {
+                count = counts[i][0];
+            }
+            if (count > 0) {
+                facets.add(new FacetCount(dimension.values()[i], count, facets2));
+            }
+        }
+
+        // Segments without a value for the first facet aren't counted.
+        var segmentCount = 0;
+        for (var facet : facets) {
+            segmentCount += facet.count();
+        }
+        return new FacetResponse(segmentCount, facets.toArray(FacetCount[]::new));
+    }
+
+    private int[][] count(long[] filter, FacetDimension dimension, FacetDimension dimension2, int chapterNumber) {
+        var start = featureIndex.getChapterStart(chapterNumber);
+        var end = featureIndex.getChapterEnd(chapterNumber);
+        var counts = new int[dimension.size()][dimension2 != null ? dimension2.size() : 1];
+        for (var i = 0; i < dimension.size(); i++) {
+            if (dimension.isChapter() && i != chapterNumber - 1) continue;
+            var words = dimension.words()[i];
+            if (dimension2 == null) {
+                counts[i][0] = count(filter, words, null, start, end);
+                continue;
+            }
+            for (var j = 0; j < dimension2.size(); j++) {
+                if (dimension2.isChapter() && j != chapterNumber - 1) continue;
+                counts[i][j] = count(filter, words, dimension2.words()[j], start, end);
+            }
+        }
+        return counts;
+    }
+
+    // The population count of the bits from start until end that are set in
+    // every bitset. Null bitsets have every bit set.
+    static int count(long[] a, long[] b, long[] c, int start, int end) {
+        if (start >= end) {
+            return 0;
+        }
+        var count = 0;
+        var first = start >>> 6;
+        var last = (end - 1) >>> 6;
+        for (var i = first; i <= last; i++) {
+            var word = -1L;
+            if (a != null) word &= a[i];
+            if (b != null) word &= b[i];
+            if (c != null) word &= c[i];
+            if (i == first) word &= -1L << start;
+            if (i == last) word &= -1L >>> -end;
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private static int[][] add(int[][] x, int[][] y) {
+        for (var i = 0; i < x.length; i++) {
+            for (var j = 0; j < x[i].length; j++) {
+                x[i][j] += y[i][j];
+            }
+        }
+        return x;
+    }
+
+    private FacetDimension getDimension(String key) {
+        if (key.equals(CHAPTER)) {
+            var chapterCount = featureIndex.getChapterCount();
+            var values = new String[chapterCount];
+            for (var i = 0; i < chapterCount; i++) {
+                values[i] = String.valueOf(i + 1);
+            }
+
+            return new FacetDimension(values, new long[chapterCount][], true);
+        }
+
+        var feature = Feature.parse(key);
+        if (feature == null || feature.isSparse()) {
+            throw new HttpStatusException(BAD_REQUEST, format("Facet {0} not supported.", key));
+        }
+        var values = featureIndex.getValues(feature).toArray(String[]::new);
+        var words = new long[values.length][];
+        for (var i = 0; i < values.length; i++) {
+            words[i] = featureIndex.getWords(feature, values[i]);
+        }
+        return new FacetDimension(values, words, false);
+    }
+}
@@ -0,0 +1,59 @@
+package app.qurancorpus.search;
+
+import app.qurancorpus.morphology.Segment;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import static app.qurancorpus.arabic.encoding.buckwalter.BuckwalterEncoder.toBuckwalter;
+import static java.util.Arrays.stream;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+
+// The segment features that can be searched, with their values as tags.
+// Roots and lemmas have thousands of values, so are stored sparsely.
+public enum Feature {
+    PartOfSpeech("pos", Segment::getPartOfSpeech),
+    Aspect("aspect", Segment::getAspect),
+    Mood("mood", Segment::getMood),
+    Voice("voice", Segment::getVoice),
+    Form("form", Segment::getForm),
+    Person("person", Segment::getPerson),
+    Gender("gender", Segment::getGender),
+    Number("number", Segment::getNumber),
+    Case("case", Segment::getCase),
+    State("state", Segment::getState),
+    Derivation("derivation", Segment::getDerivation),
+    Pronoun("pronoun", Segment::getPronounType),
+    Special("special", Segment::getSpecial),
+    Root("root", segment -> segment.getRoot() != null ? toBuckwalter(segment.getRoot()) : null),
+    Lemma("lemma", segment -> segment.getLemma() != null ? segment.getLemma().key() : null);
+
+    private static final Map<String, Feature> keyMap
+            = stream(values()).collect(toMap(x -> x.key, identity()));
+
+    private final String key;
+    private final Function<Segment, Object> value;
+
+    Feature(String key, Function<Segment, Object> value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public boolean isSparse() {
+        return this == Root || this == Lemma;
+    }
+
+    public String getValue(Segment segment) {
+        var value = this.value.apply(segment);
+        return value != null ? value.toString() : null;
+    }
+
+    public static Feature parse(String key) {
+        return keyMap.get(key);
+    }
+}
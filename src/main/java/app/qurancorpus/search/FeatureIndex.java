@@ -0,0 +1,165 @@
+package app.qurancorpus.search;
+
+import app.qurancorpus.concordance.PostingList;
+import app.qurancorpus.concordance.PostingListBuilder;
+import app.qurancorpus.morphology.MorphologyGraph;
+import app.qurancorpus.orthography.Document;
+
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+// A columnar index over segment features, with a bitset for each value of each
+// feature. Bit n is the nth segment in the corpus. Bitsets are kept as words,
+// so that facets can count ranges of them. Roots and lemmas are stored as
+// compressed posting lists instead, and turned into bitsets when queried.
+public class FeatureIndex {
+    private final int segmentCount;
+    private final int wordCount;
+    private final int[] segmentTokens;
+    private final int[] chapterOffsets;
+    private final Map<Feature, Map<String, long[]>> features = new EnumMap<>(Feature.class);
+    private final Map<Feature, Map<String, PostingList>> sparseFeatures = new EnumMap<>(Feature.class);
+
+    public FeatureIndex(Document document, MorphologyGraph morphologyGraph) {
+
+        // The segments of chapter n are at chapterOffsets[n - 1] until chapterOffsets[n].
+        segmentCount = getSegmentCount(document, morphologyGraph);
+        wordCount = (segmentCount + Long.SIZE - 1) / Long.SIZE;
+        segmentTokens = new int[segmentCount];
+        var chapters = document.children();
+        chapterOffsets = new int[chapters.length + 1];
+
+        var sparseBuilders = new EnumMap<Feature, Map<String, PostingListBuilder>>(Feature.class);
+        for (var feature : Feature.values()) {
+            if (feature.isSparse()) {
+                sparseBuilders.put(feature, new HashMap<>());
+            } else {
+                features.put(feature, new TreeMap<>());
+            }
+        }
+
+        var segmentIndex = 0;
+        var tokenSequenceNumber = 0;
+        for (var i = 0; i < chapters.length; i++) {
+            chapterOffsets[i] = segmentIndex;
+            for (var verse : chapters[i].verses()) {
+                for (var j = 0; j < verse.tokens().length; j++) {
+                    tokenSequenceNumber++;
+                    var tokenSegmentCount = morphologyGraph.getSegmentCount(tokenSequenceNumber);
+                    for (var k = 0; k < tokenSegmentCount; k++) {
+                        var segment = morphologyGraph.getSegment(tokenSequenceNumber, k);
+                        segmentTokens[segmentIndex] = tokenSequenceNumber;
+                        for (var feature : Feature.values()) {
+                            var value = feature.getValue(segment);
+                            if (value == null) continue;
+
+                            // Posting lists start at 1, so hold segment numbers rather than indexes.
+                            if (feature.isSparse()) {
+                                sparseBuilders.get(feature)
+                                        .computeIfAbsent(value, x -> new PostingListBuilder())
+                                        .add(segmentIndex + 1);
+                            } else {
+                                var words = features.get(feature).computeIfAbsent(value, x -> new long[wordCount]);
+                                words[segmentIndex >>> 6] |= 1L << segmentIndex;
+                            }
+                        }
+                        segmentIndex++;
+                    }
+                }
+            }
+        }
+        chapterOffsets[chapters.length] = segmentIndex;
+
+        for (var entry : sparseBuilders.entrySet()) {
+            var postingLists = new HashMap<String, PostingList>();
+            for (var builder : entry.getValue().entrySet()) {
+                postingLists.put(builder.getKey(), builder.getValue().build());
+            }
+            sparseFeatures.put(entry.getKey(), postingLists);
+        }
+    }
+
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public int getChapterCount() {
+        return chapterOffsets.length - 1;
+    }
+
+    public int getChapterStart(int chapterNumber) {
+        return chapterOffsets[chapterNumber - 1];
+    }
+
+    public int getChapterEnd(int chapterNumber) {
+        return chapterOffsets[chapterNumber];
+    }
+
+    // The values of a dense feature that occur in the corpus, sorted by tag.
+    public Set<String> getValues(Feature feature) {
+        return features.get(feature).keySet();
+    }
+
+    public int getTokenSequenceNumber(int segmentIndex) {
+        return segmentTokens[segmentIndex];
+    }
+
+    // Returns a new bitset, or null if no segment has this value.
+    public BitSet get(Feature feature, String value) {
+        if (feature.isSparse()) {
+            var postingList = sparseFeatures.get(feature).get(value);
+            if (postingList == null) {
+                return null;
+            }
+            var bitSet = new BitSet(segmentCount);
+            for (var segmentNumber : postingList.toArray()) {
+                bitSet.set(segmentNumber - 1);
+            }
+            return bitSet;
+        }
+        var words = features.get(feature).get(value);
+        return words != null ? BitSet.valueOf(words) : null;
+    }
+
+    // The words of a value's bitset, which must not be changed.
+    long[] getWords(Feature feature, String value) {
+        return features.get(feature).get(value);
+    }
+
+    public BitSet getChapters(int firstChapterNumber, int lastChapterNumber) {
+        var bitSet = new BitSet(segmentCount);
+        bitSet.set(chapterOffsets[firstChapterNumber - 1], chapterOffsets[lastChapterNumber]);
+        return bitSet;
+    }
+
+    public BitSet getAll() {
+        var bitSet = new BitSet(segmentCount);
+        bitSet.set(0, segmentCount);
+        return bitSet;
+    }
+
+    // The tokens with at least one segment in the bitset.
+    public BitSet getTokens(BitSet segments) {
+        var tokens = new BitSet();
+        for (var i = segments.nextSetBit(0); i >= 0; i = segments.nextSetBit(i + 1)) {
+            tokens.set(segmentTokens[i]);
+        }
+        return tokens;
+    }
+
+    private static int getSegmentCount(Document document, MorphologyGraph morphologyGraph) {
+        var segmentCount = 0;
+        for (var i = 1; i <= document.tokenCount(); i++) {
+            segmentCount += morphologyGraph.getSegmentCount(i);
+        }
+        return segmentCount;
+    }
+}
@@ -0,0 +1,97 @@
+package app.qurancorpus.search;
+
+import io.micronaut.http.exceptions.HttpStatusException;
+
+import java.util.BitSet;
+
+import static io.micronaut.http.HttpStatus.BAD_REQUEST;
+import static java.text.MessageFormat.format;
+
+// Evaluates feature queries such as "pos:V aspect:IMPF voice:PASS form:IV chapter:2".
+// Terms are ANDed, values separated by commas are ORed, and a term starting
+// with ! is negated. Chapters can be ranges, such as chapter:2-4. Underscores
+// in tags stand for spaces, as in derivation:ACT_PCPL.
+public class FeatureQuery {
+    private static final String CHAPTER = "chapter";
+
+    private FeatureQuery() {
+    }
+
+    public static BitSet evaluate(FeatureIndex index, String query) {
+        var result = index.getAll();
+        if (query == null) {
+            return result;
+        }
+
+        for (var term : query.trim().split("\\s+")) {
+            if (term.isEmpty()) continue;
+            var negated = term.charAt(0) == '!';
+            if (negated) {
+                term = term.substring(1);
+            }
+
+            var separator = term.indexOf(':');
+            if (separator <= 0 || separator == term.length() - 1) {
+                throw new HttpStatusException(BAD_REQUEST, format("Invalid term {0}.", term));
+            }
+            var key = term.substring(0, separator);
+            var values = term.substring(separator + 1).split(",");
+            var bitSet = key.equals(CHAPTER)
+                    ? getChapters(index, values)
+                    : getFeature(index, key, values);
+
+            if (negated) {
+                result.andNot(bitSet);
+            } else {
+                result.and(bitSet);
+            }
+        }
+        return result;
+    }
+
+    private static BitSet getFeature(FeatureIndex index, String key, String[] values) {
+        var feature = Feature.parse(key);
+        if (feature == null) {
+            throw new HttpStatusException(BAD_REQUEST, format("Feature {0} not supported.", key));
+        }
+
+        var bitSet = new BitSet(index.getSegmentCount());
+        for (var value : values) {
+            var valueBitSet = index.get(feature, feature.isSparse() ? value : value.replace('_', ' '));
+
+            // Roots and lemmas that don't occur match nothing, but other tags must be known.
+            if (valueBitSet != null) {
+                bitSet.or(valueBitSet);
+            } else if (!feature.isSparse()) {
+                throw new HttpStatusException(BAD_REQUEST, format("Value {0} not supported for {1}.", value, key));
+            }
+        }
+        return bitSet;
+    }
+
+    private static BitSet getChapters(FeatureIndex index, String[] values) {
+        var bitSet = new BitSet(index.getSegmentCount());
+        for (var value : values) {
+            var range = value.split("-", 2);
+            var first = parseChapterNumber(index, range[0]);
+            var last = range.length > 1 ? parseChapterNumber(index, range[1]) : first;
+            if (first > last) {
+                throw new HttpStatusException(BAD_REQUEST, "Invalid chapter range.");
+            }
+            bitSet.or(index.getChapters(first, last));
+        }
+        return bitSet;
+    }
+
+    private static int parseChapterNumber(FeatureIndex index, String text) {
+        try {
+            var chapterNumber = Integer.parseInt(text);
+            if (chapterNumber >= 1 && chapterNumber <= index.getChapterCount()) {
+                return chapterNumber;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new HttpStatusException(BAD_REQUEST, format("Chapter {0} not supported.", text));
+    }
+}
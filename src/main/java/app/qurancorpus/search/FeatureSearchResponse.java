@@ -0,0 +1,11 @@
+package app.qurancorpus.search;
+
+import app.qurancorpus.orthography.TokenResponse;
+
+public record FeatureSearchResponse(
+        int segmentCount,
+        int tokenCount,
+        int page,
+        int pageCount,
+        TokenResponse[] tokens) {
+}
@@ -0,0 +1,92 @@
+package app.qurancorpus.search;
+
+import app.qurancorpus.morphology.TokenTransformer;
+import app.qurancorpus.orthography.LocationService;
+import app.qurancorpus.orthography.TokenResponse;
+import io.micronaut.context.annotation.Value;
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.annotation.Controller;
+import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.QueryValue;
+import io.micronaut.scheduling.TaskExecutors;
+import io.micronaut.scheduling.annotation.ExecuteOn;
+import jakarta.inject.Inject;
+
+import javax.validation.constraints.Min;
+
+import static app.qurancorpus.morphology.Field.parseFields;
+import static java.lang.Math.min;
+
+@Controller("/search")
+public class SearchController {
+
+    @Inject
+    FeatureIndex featureIndex;
+
+    @Inject
+    Facets facets;
+
+    @Inject
+    TranslationSearch translationSearch;
+
+    @Inject
+    LocationService locationService;
+
+    @Inject
+    TokenTransformer tokenTransformer;
+
+    @Value("${corpus.search.page-size:100}")
+    int pageSize;
+
+    // Counts are popcounts, and only the requested page of tokens is rendered.
+    @Get("features")
+    public FeatureSearchResponse searchFeatures(
+            @Nullable @QueryValue("q") String query,
+            @Min(1) @QueryValue(defaultValue = "1") int page,
+            @Nullable @QueryValue String fields) {
+
+        var segments = FeatureQuery.evaluate(featureIndex, query);
+        var tokens = featureIndex.getTokens(segments);
+        var tokenCount = tokens.cardinality();
+
+        // page, computed as a long so that large page numbers are empty
+        var start = (int) min((long) (page - 1) * pageSize, tokenCount);
+        var tokenResponses = new TokenResponse[min(pageSize, tokenCount - start)];
+        var _fields = parseFields(fields);
+        var tokenSequenceNumber = tokens.nextSetBit(0);
+        for (var i = 0; i < start && tokenSequenceNumber >= 0; i++) {
+            tokenSequenceNumber = tokens.nextSetBit(tokenSequenceNumber + 1);
+        }
+        for (var i = 0; i < tokenResponses.length; i++) {
+            var token = locationService.getToken(tokenSequenceNumber);
+            tokenResponses[i] = tokenTransformer.getTokenResponse(token, false, _fields);
+            tokenSequenceNumber = tokens.nextSetBit(tokenSequenceNumber + 1);
+        }
+
+        return new FeatureSearchResponse(
+                segments.cardinality(),
+                tokenCount,
+                page,
+                (tokenCount + pageSize - 1) / pageSize,
+                tokenResponses);
+    }
+
+    // Counts segments matching a feature query by one or two facets, such as
+    // facet=pos or facet=pos,chapter. Chapters are counted in parallel.
+    @Get("facets")
+    @ExecuteOn(TaskExecutors.IO)
+    public FacetResponse getFacets(
+            @Nullable @QueryValue("q") String query,
+            @QueryValue("facet") String facet) {
+        return facets.getFacets(query, facet);
+    }
+
+    // Ranks verses of a translation by BM25. Quoted phrases must occur.
+    @Get("translation")
+    public TranslationSearchResponse searchTranslation(
+            @Nullable @QueryValue("q") String query,
+            @QueryValue(defaultValue = "sahih-international") String translation,
+            @Min(1) @QueryValue(defaultValue = "10") int size) {
+        return translationSearch.search(translation, query, min(size, pageSize));
+    }
+}
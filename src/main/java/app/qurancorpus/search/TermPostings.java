@@ -0,0 +1,7 @@
+package app.qurancorpus.search;
+
+import app.qurancorpus.concordance.PostingList;
+
+// The occurrences of a term in a translation, and the number of verses it occurs in.
+record TermPostings(PostingList postings, int documentFrequency) {
+}
@@ -0,0 +1,105 @@
+package app.qurancorpus.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static java.util.Locale.ROOT;
+
+// Splits English text into terms. Words are case folded, with diacritics and
+// possessives removed, then stemmed by a light suffix stemmer so that forms
+// such as believe, believes, believed and believing share a term.
+public class TextAnalyzer {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private TextAnalyzer() {
+    }
+
+    public static List<TextTerm> analyze(String text) {
+        var terms = new ArrayList<TextTerm>();
+        var length = text.length();
+        var i = 0;
+        while (i < length) {
+            if (!Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+                continue;
+            }
+
+            // Apostrophes are part of a word when followed by a letter, as in Allah's.
+            var start = i;
+            while (i < length && (Character.isLetterOrDigit(text.charAt(i))
+                    || (isApostrophe(text.charAt(i)) && i + 1 < length && Character.isLetter(text.charAt(i + 1))))) {
+                i++;
+            }
+            var term = getTerm(text.substring(start, i));
+            if (!term.isEmpty()) {
+                terms.add(new TextTerm(term, start, i));
+            }
+        }
+        return terms;
+    }
+
+    static String stem(String word) {
+        if (word.length() <= 3) {
+            return word;
+        }
+
+        // plurals
+        if (word.endsWith("ies") && word.length() > 4 && !word.endsWith("eies") && !word.endsWith("aies")) {
+            word = word.substring(0, word.length() - 3) + 'y';
+        } else if (word.endsWith("es") && !word.endsWith("aes") && !word.endsWith("ees") && !word.endsWith("oes")) {
+            word = word.substring(0, word.length() - 1);
+        } else if (word.endsWith("s") && !word.endsWith("us") && !word.endsWith("ss")) {
+            word = word.substring(0, word.length() - 1);
+        }
+
+        // verb endings
+        if (word.endsWith("ed") && !word.endsWith("eed") && word.length() > 4) {
+            word = removeDoubleConsonant(word.substring(0, word.length() - 2));
+        } else if (word.endsWith("ing") && word.length() > 5) {
+            word = removeDoubleConsonant(word.substring(0, word.length() - 3));
+        }
+
+        // A final e is removed so that guide and guided share a stem.
+        if (word.endsWith("e") && word.length() > 4) {
+            word = word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+
+    private static String getTerm(String word) {
+        var length = word.length();
+        if (length > 2 && isApostrophe(word.charAt(length - 2))
+                && (word.charAt(length - 1) == 's' || word.charAt(length - 1) == 'S')) {
+            word = word.substring(0, length - 2);
+        }
+        word = word.replace("'", "").replace("\u2019", "").toLowerCase(ROOT);
+
+        // Transliterated words with accents are matched without diacritics.
+        for (var i = 0; i < word.length(); i++) {
+            if (word.charAt(i) > 0x7f) {
+                word = DIACRITICS.matcher(Normalizer.normalize(word, Normalizer.Form.NFD)).replaceAll("");
+                break;
+            }
+        }
+        return stem(word);
+    }
+
+    private static boolean isApostrophe(char ch) {
+        return ch == '\'' || ch == '\u2019';
+    }
+
+    private static String removeDoubleConsonant(String word) {
+        var length = word.length();
+        if (length < 2) {
+            return word;
+        }
+        var ch = word.charAt(length - 1);
+        if (ch == word.charAt(length - 2) && ch != 'l' && ch != 's' && ch != 'z'
+                && "aeiou".indexOf(ch) < 0) {
+            return word.substring(0, length - 1);
+        }
+        return word;
+    }
+}
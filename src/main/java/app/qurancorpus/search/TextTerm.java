@@ -0,0 +1,5 @@
+package app.qurancorpus.search;
+
+// A term, with the range of characters it was read from.
+public record TextTerm(String term, int start, int end) {
+}
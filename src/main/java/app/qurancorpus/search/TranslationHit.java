@@ -0,0 +1,4 @@
+package app.qurancorpus.search;
+
+public record TranslationHit(int[] location, double score, String snippet) {
+}
@@ -0,0 +1,225 @@
+package app.qurancorpus.search;
+
+import app.qurancorpus.concordance.PostingListBuilder;
+import app.qurancorpus.translation.Translation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import static java.lang.Math.log;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.text.MessageFormat.format;
+
+// A positional inverted index over the verses of a translation, ranked by BM25.
+// Each term has one posting list of its occurrences, encoded as the verse
+// sequence number shifted left by 10 bits plus the term's position in the
+// verse, so that occurrences ascend and phrases are consecutive values.
+public class TranslationIndex {
+    private static final int POSITION_BITS = 10;
+    private static final int POSITION_MASK = (1 << POSITION_BITS) - 1;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int SNIPPET_LENGTH = 32;
+    private static final int SNIPPET_CONTEXT = 8;
+
+    // The approximate size of a map entry and its key, excluding the characters.
+    private static final int TERM_OVERHEAD = 96;
+
+    private final Translation translation;
+    private final Map<String, TermPostings> terms = new HashMap<>();
+    private final int[] verseLengths;
+    private final double averageVerseLength;
+
+    public TranslationIndex(Translation translation) {
+        this.translation = translation;
+
+        var verses = translation.verses();
+        verseLengths = new int[verses.length];
+        var builders = new HashMap<String, PostingListBuilder>();
+        var documentFrequencies = new HashMap<String, Integer>();
+        var termCount = 0L;
+        for (var i = 0; i < verses.length; i++) {
+            var verseSequenceNumber = i + 1;
+            var verseTerms = TextAnalyzer.analyze(verses[i]);
+            if (verseTerms.size() > POSITION_MASK + 1) {
+                throw new UnsupportedOperationException(
+                        format("Verse {0} of {1} is too long to index.", verseSequenceNumber, translation.key()));
+            }
+            var distinctTerms = new HashSet<String>();
+            for (var position = 0; position < verseTerms.size(); position++) {
+                var term = verseTerms.get(position).term();
+                if (distinctTerms.add(term)) {
+                    documentFrequencies.merge(term, 1, Integer::sum);
+                }
+                builders.computeIfAbsent(term, x -> new PostingListBuilder())
+                        .add(verseSequenceNumber << POSITION_BITS | position);
+            }
+            verseLengths[i] = verseTerms.size();
+            termCount += verseTerms.size();
+        }
+        averageVerseLength = (double) termCount / verses.length;
+
+        for (var entry : builders.entrySet()) {
+            var term = entry.getKey();
+            terms.put(term, new TermPostings(entry.getValue().build(), documentFrequencies.get(term)));
+        }
+    }
+
+    public String getKey() {
+        return translation.key();
+    }
+
+    public int getTermCount() {
+        return terms.size();
+    }
+
+    // The approximate size of the index in bytes, excluding the translation.
+    public long getByteCount() {
+        var byteCount = (long) verseLengths.length * Integer.BYTES;
+        for (var entry : terms.entrySet()) {
+            byteCount += TERM_OVERHEAD + entry.getKey().length() + entry.getValue().postings().getByteCount();
+        }
+        return byteCount;
+    }
+
+    // Scores each verse by BM25, and returns the top verses by score in
+    // descending order. Verses must contain every phrase.
+    public TranslationResults search(TranslationQuery query, int size) {
+        var verseCount = verseLengths.length;
+        var scores = new double[verseCount + 1];
+        var matches = new BitSet(verseCount + 1);
+        for (var term : query.terms()) {
+            var termPostings = terms.get(term);
+            if (termPostings == null) continue;
+            var idf = log(1 + (verseCount - termPostings.documentFrequency() + 0.5)
+                    / (termPostings.documentFrequency() + 0.5));
+
+            // Occurrences are grouped by verse, so term frequencies are run lengths.
+            var occurrences = termPostings.postings().toArray();
+            var i = 0;
+            while (i < occurrences.length) {
+                var verseSequenceNumber = occurrences[i] >>> POSITION_BITS;
+                var frequency = 0;
+                while (i < occurrences.length && occurrences[i] >>> POSITION_BITS == verseSequenceNumber) {
+                    frequency++;
+                    i++;
+                }
+                var lengthNorm = 1 - B + B * verseLengths[verseSequenceNumber - 1] / averageVerseLength;
+                scores[verseSequenceNumber] += idf * frequency * (K1 + 1) / (frequency + K1 * lengthNorm);
+                matches.set(verseSequenceNumber);
+            }
+        }
+
+        for (var phrase : query.phrases()) {
+            matches.and(getPhraseMatches(phrase));
+        }
+
+        // top k, with earlier verses first for equal scores
+        var heap = new PriorityQueue<Integer>((x, y) -> scores[x] != scores[y]
+                ? Double.compare(scores[x], scores[y])
+                : Integer.compare(y, x));
+        for (var i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            heap.add(i);
+            if (heap.size() > size) {
+                heap.poll();
+            }
+        }
+        var verses = new int[heap.size()];
+        var verseScores = new double[heap.size()];
+        for (var i = verses.length - 1; i >= 0; i--) {
+            verses[i] = heap.poll();
+            verseScores[i] = scores[verses[i]];
+        }
+        return new TranslationResults(matches.cardinality(), verses, verseScores);
+    }
+
+    // The text of a verse around its first match as HTML, with matching terms
+    // highlighted by <em> tags.
+    public String getSnippet(int verseSequenceNumber, Set<String> queryTerms) {
+        var text = translation.getVerse(verseSequenceNumber);
+        var verseTerms = TextAnalyzer.analyze(text);
+        var first = 0;
+        while (first < verseTerms.size() && !queryTerms.contains(verseTerms.get(first).term())) {
+            first++;
+        }
+        if (first == verseTerms.size()) {
+            first = 0;
+        }
+
+        var start = verseTerms.size() > SNIPPET_LENGTH ? max(0, first - SNIPPET_CONTEXT) : 0;
+        var end = min(verseTerms.size(), start + SNIPPET_LENGTH);
+        var snippet = new StringBuilder();
+        var offset = start > 0 ? verseTerms.get(start).start() : 0;
+        if (start > 0) {
+            snippet.append("...");
+        }
+        for (var i = start; i < end; i++) {
+            var term = verseTerms.get(i);
+            if (queryTerms.contains(term.term())) {
+                appendEscaped(snippet, text, offset, term.start());
+                snippet.append("<em>");
+                appendEscaped(snippet, text, term.start(), term.end());
+                snippet.append("</em>");
+                offset = term.end();
+            }
+        }
+        if (end < verseTerms.size()) {
+            appendEscaped(snippet, text, offset, verseTerms.get(end - 1).end());
+            snippet.append("...");
+        } else {
+            appendEscaped(snippet, text, offset, text.length());
+        }
+        return snippet.toString();
+    }
+
+    private BitSet getPhraseMatches(String[] phrase) {
+        var matches = new BitSet();
+
+        // Keep the occurrences of the first term that are followed by the rest.
+        var postings = new ArrayList<int[]>();
+        for (var term : phrase) {
+            var termPostings = terms.get(term);
+            if (termPostings == null) {
+                return matches;
+            }
+            postings.add(termPostings.postings().toArray());
+        }
+        for (var occurrence : postings.get(0)) {
+            if (isPhrase(postings, occurrence)) {
+                matches.set(occurrence >>> POSITION_BITS);
+            }
+        }
+        return matches;
+    }
+
+    private static void appendEscaped(StringBuilder snippet, String text, int start, int end) {
+        for (var i = start; i < end; i++) {
+            var ch = text.charAt(i);
+            switch (ch) {
+                case '&' -> snippet.append("&amp;");
+                case '<' -> snippet.append("&lt;");
+                case '>' -> snippet.append("&gt;");
+                case '"' -> snippet.append("&quot;");
+                default -> snippet.append(ch);
+            }
+        }
+    }
+
+    private static boolean isPhrase(List<int[]> postings, int occurrence) {
+        for (var i = 1; i < postings.size(); i++) {
+            if ((occurrence & POSITION_MASK) + i > POSITION_MASK
+                    || Arrays.binarySearch(postings.get(i), occurrence + i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,37 @@
+package app.qurancorpus.search;
+
+import io.micronaut.http.exceptions.HttpStatusException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static io.micronaut.http.HttpStatus.BAD_REQUEST;
+
+// A query such as: mercy "day of judgement". Terms are ranked, and each quoted
+// phrase must occur. Phrase terms are also ranked.
+public record TranslationQuery(String[] terms, List<String[]> phrases) {
+
+    public static TranslationQuery parse(String query) {
+        var terms = new LinkedHashSet<String>();
+        var phrases = new ArrayList<String[]>();
+        if (query != null) {
+            var parts = query.split("\"", -1);
+            for (var i = 0; i < parts.length; i++) {
+
+                // Odd parts are quoted. An unclosed quote runs to the end.
+                var partTerms = TextAnalyzer.analyze(parts[i]);
+                if (i % 2 == 1 && !partTerms.isEmpty()) {
+                    phrases.add(partTerms.stream().map(TextTerm::term).toArray(String[]::new));
+                }
+                for (var term : partTerms) {
+                    terms.add(term.term());
+                }
+            }
+        }
+        if (terms.isEmpty()) {
+            throw new HttpStatusException(BAD_REQUEST, "Expected search terms.");
+        }
+        return new TranslationQuery(terms.toArray(String[]::new), phrases);
+    }
+}
@@ -0,0 +1,5 @@
+package app.qurancorpus.search;
+
+// The number of matching verses, and the top verses by score.
+public record TranslationResults(int matchCount, int[] verses, double[] scores) {
+}
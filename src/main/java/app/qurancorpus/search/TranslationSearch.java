@@ -0,0 +1,65 @@
+package app.qurancorpus.search;
+
+import app.qurancorpus.orthography.LocationService;
+import app.qurancorpus.translation.TranslationService;
+import io.micronaut.http.exceptions.HttpStatusException;
+
+import java.util.Map;
+import java.util.Set;
+
+import static io.micronaut.http.HttpStatus.BAD_REQUEST;
+import static java.text.MessageFormat.format;
+import static java.util.Arrays.stream;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
+
+// Full-text search over the verse translations, with an index for each
+// translation. Indexes are built in parallel, and must fit in the memory budget.
+public class TranslationSearch {
+    private final LocationService locationService;
+    private final Map<String, TranslationIndex> indexes;
+    private final long byteCount;
+
+    public TranslationSearch(
+            TranslationService translationService,
+            LocationService locationService,
+            long memoryBudget) {
+
+        this.locationService = locationService;
+        indexes = stream(translationService.getMetadata())
+                .parallel()
+                .map(x -> new TranslationIndex(translationService.getTranslation(x.key())))
+                .collect(toMap(TranslationIndex::getKey, identity()));
+
+        byteCount = indexes.values().stream().mapToLong(TranslationIndex::getByteCount).sum();
+        if (byteCount > memoryBudget) {
+            throw new UnsupportedOperationException(
+                    format("Translation indexes need {0} bytes, over the budget of {1}.",
+                            String.valueOf(byteCount), String.valueOf(memoryBudget)));
+        }
+    }
+
+    public long getByteCount() {
+        return byteCount;
+    }
+
+    public TranslationSearchResponse search(String translation, String query, int size) {
+        var index = indexes.get(translation);
+        if (index == null) {
+            throw new HttpStatusException(BAD_REQUEST, format("Translation {0} not supported.", translation));
+        }
+
+        var translationQuery = TranslationQuery.parse(query);
+        var results = index.search(translationQuery, size);
+        var queryTerms = Set.of(translationQuery.terms());
+        var hits = new TranslationHit[results.verses().length];
+        for (var i = 0; i < hits.length; i++) {
+            var verseSequenceNumber = results.verses()[i];
+            hits[i] = new TranslationHit(
+                    locationService.getVerseLocation(verseSequenceNumber).toArray(),
+                    Math.round(results.scores()[i] * 1000) / 1000.0,
+                    index.getSnippet(verseSequenceNumber, queryTerms));
+        }
+        return new TranslationSearchResponse(translation, results.matchCount(), hits);
+    }
+}
@@ -0,0 +1,4 @@
+package app.qurancorpus.search;
+
+public record TranslationSearchResponse(String translation, int verseCount, TranslationHit[] verses) {
+}
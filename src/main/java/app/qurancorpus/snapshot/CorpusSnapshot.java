@@ -0,0 +1,43 @@
+package app.qurancorpus.snapshot;
+
+import io.micronaut.context.annotation.Value;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static app.qurancorpus.snapshot.Snapshot.getSourceChecksum;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+
+@Singleton
+public class CorpusSnapshot {
+    private static final Logger log = LoggerFactory.getLogger(CorpusSnapshot.class);
+    private final SnapshotReader reader;
+
+    public CorpusSnapshot(@Value("${corpus.snapshot.path:}") String path) {
+        reader = path.isEmpty() ? null : open(Path.of(path));
+    }
+
+    public SnapshotReader getReader() {
+        return reader;
+    }
+
+    private static SnapshotReader open(Path path) {
+        if (!Files.exists(path)) {
+            log.warn("Snapshot {} not found, loading corpus from text", path);
+            return null;
+        }
+        try (var channel = FileChannel.open(path, READ)) {
+            var reader = new SnapshotReader(channel.map(READ_ONLY, 0, channel.size()), getSourceChecksum());
+            log.info("Memory mapped snapshot {}", path);
+            return reader;
+        } catch (Exception e) {
+            log.warn("Failed to open snapshot {}, loading corpus from text: {}", path, e.getMessage());
+            return null;
+        }
+    }
+}
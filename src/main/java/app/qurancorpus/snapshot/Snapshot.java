@@ -0,0 +1,41 @@
+package app.qurancorpus.snapshot;
+
+import lombok.SneakyThrows;
+
+import java.util.zip.CRC32;
+
+import static app.qurancorpus.ResourceReader.resourceStream;
+
+public class Snapshot {
+    public static final int MAGIC = 0x51435350;
+    public static final int VERSION = 2;
+    public static final int HEADER_SIZE = 40;
+
+    // The text files that a snapshot is built from. If any of these change,
+    // then the snapshot is stale and the corpus is loaded from text instead.
+    private static final String[] SOURCES = {
+            "/data/quran-uthmani.xml",
+            "/data/morphology.txt",
+            "/data/syntax.txt"
+    };
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private Snapshot() {
+    }
+
+    @SneakyThrows
+    public static long getSourceChecksum() {
+        var checksum = new CRC32();
+        var buffer = new byte[BUFFER_SIZE];
+        for (var source : SOURCES) {
+            try (var stream = resourceStream(source)) {
+                int size;
+                while ((size = stream.read(buffer)) != -1) {
+                    checksum.update(buffer, 0, size);
+                }
+            }
+        }
+        return checksum.getValue();
+    }
+}
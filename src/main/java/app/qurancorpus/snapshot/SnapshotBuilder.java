@@ -0,0 +1,38 @@
+package app.qurancorpus.snapshot;
+
+import app.qurancorpus.lexicography.LemmaService;
+import app.qurancorpus.morphology.MorphologyLoader;
+import app.qurancorpus.orthography.DocumentLoader;
+import app.qurancorpus.orthography.LocationService;
+import app.qurancorpus.syntax.SyntaxService;
+import lombok.SneakyThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class SnapshotBuilder {
+
+    private SnapshotBuilder() {
+    }
+
+    @SneakyThrows
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            throw new UnsupportedOperationException("Usage: SnapshotBuilder <path>");
+        }
+
+        // Always build from the text files, ignoring any existing snapshot.
+        var snapshot = new CorpusSnapshot("");
+        var document = new DocumentLoader(snapshot).load();
+        var locationService = new LocationService(document);
+        var morphologyGraph = new MorphologyLoader(document, locationService, new LemmaService(), snapshot).load();
+        var syntaxService = new SyntaxService(document, locationService, snapshot);
+
+        var path = Path.of(args[0]);
+        var parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        new SnapshotWriter(document, morphologyGraph, syntaxService.getGraphs()).write(path);
+    }
+}
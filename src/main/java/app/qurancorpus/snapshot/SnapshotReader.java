@@ -0,0 +1,245 @@
+package app.qurancorpus.snapshot;
+
+import app.qurancorpus.arabic.ArabicText;
+import app.qurancorpus.lexicography.LemmaService;
+import app.qurancorpus.morphology.*;
+import app.qurancorpus.orthography.*;
+import app.qurancorpus.syntax.PhraseType;
+import app.qurancorpus.syntax.Relation;
+import app.qurancorpus.syntax.SyntaxGraph;
+import app.qurancorpus.syntax.WordType;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import static app.qurancorpus.snapshot.Snapshot.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public class SnapshotReader {
+    private static final SegmentType[] SEGMENT_TYPES = SegmentType.values();
+    private static final PartOfSpeech[] PARTS_OF_SPEECH = PartOfSpeech.values();
+    private static final PersonType[] PERSON_TYPES = PersonType.values();
+    private static final GenderType[] GENDER_TYPES = GenderType.values();
+    private static final NumberType[] NUMBER_TYPES = NumberType.values();
+    private static final AspectType[] ASPECT_TYPES = AspectType.values();
+    private static final MoodType[] MOOD_TYPES = MoodType.values();
+    private static final VoiceType[] VOICE_TYPES = VoiceType.values();
+    private static final FormType[] FORM_TYPES = FormType.values();
+    private static final DerivationType[] DERIVATION_TYPES = DerivationType.values();
+    private static final StateType[] STATE_TYPES = StateType.values();
+    private static final CaseType[] CASE_TYPES = CaseType.values();
+    private static final PronounType[] PRONOUN_TYPES = PronounType.values();
+    private static final SpecialType[] SPECIAL_TYPES = SpecialType.values();
+    private static final WordType[] WORD_TYPES = WordType.values();
+    private static final PhraseType[] PHRASE_TYPES = PhraseType.values();
+    private static final Relation[] RELATIONS = Relation.values();
+
+    private final ByteBuffer buffer;
+    private final int documentOffset;
+    private final int morphologyOffset;
+    private final int syntaxOffset;
+
+    public SnapshotReader(ByteBuffer buffer, long sourceChecksum) {
+        this.buffer = buffer;
+
+        // header
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new UnsupportedOperationException("Not a corpus snapshot.");
+        }
+        var version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new UnsupportedOperationException(
+                    "Snapshot version " + version + " is not supported, expected version " + VERSION + ".");
+        }
+        if (buffer.getLong(8) != sourceChecksum) {
+            throw new UnsupportedOperationException("Snapshot is stale.");
+        }
+        documentOffset = buffer.getInt(24);
+        morphologyOffset = buffer.getInt(28);
+        syntaxOffset = buffer.getInt(32);
+        var size = buffer.getInt(36);
+        if (size != buffer.capacity()) {
+            throw new UnsupportedOperationException("Snapshot is truncated.");
+        }
+
+        // payload
+        var checksum = new CRC32();
+        checksum.update(buffer.duplicate().position(HEADER_SIZE));
+        if (checksum.getValue() != buffer.getLong(16)) {
+            throw new UnsupportedOperationException("Snapshot checksum mismatch.");
+        }
+    }
+
+    public Document readDocument() {
+        var buffer = section(documentOffset);
+        var chapterCount = buffer.getInt();
+        var arabicText = readArabicText(buffer);
+        var chapters = new Chapter[chapterCount];
+
+        // Verses are views into the text for the whole corpus, delimited by whitespace.
+        var versePosition = 0;
+        for (var i = 0; i < chapterCount; i++) {
+            var chapterNumber = i + 1;
+            var verseCount = buffer.getInt();
+            var verses = new Verse[verseCount];
+            for (var j = 0; j < verseCount; j++) {
+                var verseNumber = j + 1;
+                var verseLength = buffer.getInt();
+                var verseText = arabicText.substring(versePosition, versePosition + verseLength);
+                versePosition += verseLength + 1;
+                var tokenCount = buffer.getInt();
+                var tokens = new Token[tokenCount];
+                var position = 0;
+                for (var k = 0; k < tokenCount; k++) {
+                    var length = buffer.getInt();
+                    tokens[k] = new Token(
+                            new Location(chapterNumber, verseNumber, k + 1),
+                            verseText.substring(position, position + length));
+
+                    // Tokens are delimited by a single whitespace character.
+                    position += length + 1;
+                }
+                verses[j] = new Verse(new Location(chapterNumber, verseNumber), verseText, tokens);
+            }
+            chapters[i] = new Chapter(chapterNumber, verses);
+        }
+        return new Document(arabicText, chapters);
+    }
+
+    public Segment[][] readSegments(Document document, LemmaService lemmaService) {
+        var buffer = section(morphologyOffset);
+        var tokenCount = buffer.getInt();
+        if (tokenCount != document.tokenCount()) {
+            throw new UnsupportedOperationException("Snapshot token count mismatch.");
+        }
+        var segments = new Segment[tokenCount][];
+        var tokenIndex = 0;
+        for (var chapter : document.children()) {
+            for (var verse : chapter.verses()) {
+                for (var token : verse.tokens()) {
+                    var segmentCount = buffer.getInt();
+                    var tokenSegments = new Segment[segmentCount];
+                    var position = 0;
+                    for (var i = 0; i < segmentCount; i++) {
+                        var segment = readSegment(buffer, lemmaService);
+                        var length = segment.getEndIndex() - segment.getStartIndex();
+                        segment.setArabicText(token.arabicText().substring(position, position + length));
+                        position += length;
+                        tokenSegments[i] = segment;
+                    }
+                    segments[tokenIndex++] = tokenSegments;
+                }
+            }
+        }
+        return segments;
+    }
+
+    public List<SyntaxGraph> readGraphs(Document document) {
+        var buffer = section(syntaxOffset);
+        var graphCount = buffer.getInt();
+        var graphs = new ArrayList<SyntaxGraph>(graphCount);
+        for (var i = 0; i < graphCount; i++) {
+            var graph = new SyntaxGraph();
+
+            // words
+            var wordCount = buffer.getInt();
+            for (var j = 0; j < wordCount; j++) {
+                var type = readEnum(buffer, WORD_TYPES);
+                var chapterNumber = buffer.getInt();
+                var token = chapterNumber != 0
+                        ? document.getToken(chapterNumber, buffer.getInt(), buffer.getInt())
+                        : null;
+                var elidedText = readArabicText(buffer);
+                var elidedPartOfSpeech = readEnum(buffer, PARTS_OF_SPEECH);
+                graph.addWord(type, token, elidedText, elidedPartOfSpeech, buffer.getInt());
+            }
+
+            // phrases
+            var nodes = graph.getNodes();
+            var phraseCount = buffer.getInt();
+            for (var j = 0; j < phraseCount; j++) {
+                var phraseType = readEnum(buffer, PHRASE_TYPES);
+                var start = nodes.get(buffer.getInt());
+                var end = nodes.get(buffer.getInt());
+                graph.addPhrase(phraseType, start, end);
+            }
+
+            // edges
+            var edgeCount = buffer.getInt();
+            for (var j = 0; j < edgeCount; j++) {
+                var dependent = nodes.get(buffer.getInt());
+                var head = nodes.get(buffer.getInt());
+                graph.addEdge(dependent, head, readEnum(buffer, RELATIONS));
+            }
+            graphs.add(graph);
+        }
+        return graphs;
+    }
+
+    private static Segment readSegment(ByteBuffer buffer, LemmaService lemmaService) {
+
+        // segment
+        var segment = new Segment(
+                readEnum(buffer, SEGMENT_TYPES),
+                readEnum(buffer, PARTS_OF_SPEECH));
+        segment.setSegmentNumber(buffer.getInt());
+        segment.setStartIndex(buffer.getInt());
+        segment.setEndIndex(buffer.getInt());
+
+        // root and lemma
+        if (buffer.get() != 0) {
+            segment.setRoot(lemmaService.getRoot(readString(buffer)));
+        }
+        if (buffer.get() != 0) {
+            segment.setLemma(lemmaService.getLemma(readString(buffer)));
+        }
+
+        // features
+        segment.setPerson(readEnum(buffer, PERSON_TYPES));
+        segment.setGender(readEnum(buffer, GENDER_TYPES));
+        segment.setNumber(readEnum(buffer, NUMBER_TYPES));
+        segment.setAspect(readEnum(buffer, ASPECT_TYPES));
+        segment.setMood(readEnum(buffer, MOOD_TYPES));
+        segment.setVoice(readEnum(buffer, VOICE_TYPES));
+        segment.setForm(readEnum(buffer, FORM_TYPES));
+        segment.setDerivation(readEnum(buffer, DERIVATION_TYPES));
+        segment.setState(readEnum(buffer, STATE_TYPES));
+        segment.setCase(readEnum(buffer, CASE_TYPES));
+        segment.setPronounType(readEnum(buffer, PRONOUN_TYPES));
+        segment.setSpecial(readEnum(buffer, SPECIAL_TYPES));
+        return segment;
+    }
+
+    private ByteBuffer section(int offset) {
+
+        // Each section is read through its own view of the mapped buffer, so
+        // that sections can be read concurrently.
+        return buffer.duplicate().position(offset);
+    }
+
+    private static ArabicText readArabicText(ByteBuffer buffer) {
+        var characterCount = buffer.getInt();
+        if (characterCount < 0) {
+            return null;
+        }
+        var bytes = new byte[characterCount * ArabicText.CHARACTER_WIDTH];
+        buffer.get(bytes);
+        return new ArabicText(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+
+        // Strings are written by DataOutputStream.writeUTF. Modified UTF-8 is
+        // the same as UTF-8 for roots and lemma keys, which are Buckwalter transliterations.
+        var bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private static <T extends Enum<T>> T readEnum(ByteBuffer buffer, T[] values) {
+        var ordinal = buffer.get();
+        return ordinal >= 0 ? values[ordinal] : null;
+    }
+}
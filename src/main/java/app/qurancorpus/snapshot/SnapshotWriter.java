@@ -0,0 +1,212 @@
+package app.qurancorpus.snapshot;
+
+import app.qurancorpus.arabic.ArabicText;
+import app.qurancorpus.morphology.MorphologyGraph;
+import app.qurancorpus.morphology.Segment;
+import app.qurancorpus.orthography.Document;
+import app.qurancorpus.syntax.SyntaxGraph;
+import app.qurancorpus.syntax.Word;
+import lombok.SneakyThrows;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import static app.qurancorpus.arabic.encoding.buckwalter.BuckwalterEncoder.toBuckwalter;
+import static app.qurancorpus.snapshot.Snapshot.*;
+
+public class SnapshotWriter {
+    private final Document document;
+    private final MorphologyGraph morphologyGraph;
+    private final List<SyntaxGraph> graphs;
+
+    public SnapshotWriter(Document document, MorphologyGraph morphologyGraph, List<SyntaxGraph> graphs) {
+        this.document = document;
+        this.morphologyGraph = morphologyGraph;
+        this.graphs = graphs;
+    }
+
+    @SneakyThrows
+    public void write(Path path) {
+
+        // sections
+        var documentSection = writeSection(this::writeDocument);
+        var morphologySection = writeSection(this::writeMorphology);
+        var syntaxSection = writeSection(this::writeSyntax);
+
+        // checksum
+        var checksum = new CRC32();
+        checksum.update(documentSection);
+        checksum.update(morphologySection);
+        checksum.update(syntaxSection);
+
+        // offsets
+        var documentOffset = HEADER_SIZE;
+        var morphologyOffset = documentOffset + documentSection.length;
+        var syntaxOffset = morphologyOffset + morphologySection.length;
+        var size = syntaxOffset + syntaxSection.length;
+
+        try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(getSourceChecksum());
+            output.writeLong(checksum.getValue());
+            output.writeInt(documentOffset);
+            output.writeInt(morphologyOffset);
+            output.writeInt(syntaxOffset);
+            output.writeInt(size);
+            output.write(documentSection);
+            output.write(morphologySection);
+            output.write(syntaxSection);
+        }
+    }
+
+    private static byte[] writeSection(Consumer<DataOutputStream> writer) {
+        var bytes = new ByteArrayOutputStream();
+        var output = new DataOutputStream(bytes);
+        writer.accept(output);
+        return bytes.toByteArray();
+    }
+
+    @SneakyThrows
+    private void writeDocument(DataOutputStream output) {
+        var chapters = document.children();
+        output.writeInt(chapters.length);
+        writeArabicText(output, document.arabicText());
+        for (var chapter : chapters) {
+            var verses = chapter.verses();
+            output.writeInt(verses.length);
+            for (var verse : verses) {
+                output.writeInt(verse.arabicText().getLength());
+                var tokens = verse.tokens();
+                output.writeInt(tokens.length);
+                for (var token : tokens) {
+                    output.writeInt(token.arabicText().getLength());
+                }
+            }
+        }
+    }
+
+    @SneakyThrows
+    private void writeMorphology(DataOutputStream output) {
+        output.writeInt(document.tokenCount());
+        for (var chapter : document.children()) {
+            for (var verse : chapter.verses()) {
+                for (var token : verse.tokens()) {
+                    var segments = morphologyGraph.query(token);
+                    output.writeInt(segments.length);
+                    for (var segment : segments) {
+                        writeSegment(output, segment);
+                    }
+                }
+            }
+        }
+    }
+
+    @SneakyThrows
+    private static void writeSegment(DataOutputStream output, Segment segment) {
+
+        // segment
+        writeEnum(output, segment.getType());
+        writeEnum(output, segment.getPartOfSpeech());
+        output.writeInt(segment.getSegmentNumber());
+        output.writeInt(segment.getStartIndex());
+        output.writeInt(segment.getEndIndex());
+
+        // root and lemma
+        var root = segment.getRoot();
+        output.writeBoolean(root != null);
+        if (root != null) {
+            output.writeUTF(toBuckwalter(root));
+        }
+        var lemma = segment.getLemma();
+        output.writeBoolean(lemma != null);
+        if (lemma != null) {
+            output.writeUTF(lemma.key());
+        }
+
+        // features
+        writeEnum(output, segment.getPerson());
+        writeEnum(output, segment.getGender());
+        writeEnum(output, segment.getNumber());
+        writeEnum(output, segment.getAspect());
+        writeEnum(output, segment.getMood());
+        writeEnum(output, segment.getVoice());
+        writeEnum(output, segment.getForm());
+        writeEnum(output, segment.getDerivation());
+        writeEnum(output, segment.getState());
+        writeEnum(output, segment.getCase());
+        writeEnum(output, segment.getPronounType());
+        writeEnum(output, segment.getSpecial());
+    }
+
+    @SneakyThrows
+    private void writeSyntax(DataOutputStream output) {
+        output.writeInt(graphs.size());
+        for (var graph : graphs) {
+
+            // words
+            var words = graph.getWords();
+            output.writeInt(words.size());
+            for (var word : words) {
+                writeWord(output, word);
+            }
+
+            // phrases
+            var phraseCount = graph.getPhraseCount();
+            output.writeInt(phraseCount);
+            for (var i = 0; i < phraseCount; i++) {
+                var phrase = graph.getPhrase(i + 1);
+                writeEnum(output, phrase.phraseType());
+                output.writeInt(phrase.start().index());
+                output.writeInt(phrase.end().index());
+            }
+
+            // edges
+            var edges = graph.getEdges();
+            output.writeInt(edges.size());
+            for (var edge : edges) {
+                output.writeInt(edge.dependent().index());
+                output.writeInt(edge.head().index());
+                writeEnum(output, edge.relation());
+            }
+        }
+    }
+
+    @SneakyThrows
+    private static void writeWord(DataOutputStream output, Word word) {
+        writeEnum(output, word.type());
+        var token = word.token();
+        if (token != null) {
+            var location = token.location();
+            output.writeInt(location.chapterNumber());
+            output.writeInt(location.verseNumber());
+            output.writeInt(location.tokenNumber());
+        } else {
+            output.writeInt(0);
+        }
+        writeArabicText(output, word.elidedText());
+        writeEnum(output, word.elidedPartOfSpeech());
+        output.writeInt(word.end() - word.start() + 1);
+    }
+
+    @SneakyThrows
+    private static void writeArabicText(DataOutputStream output, ArabicText arabicText) {
+        if (arabicText == null) {
+            output.writeInt(-1);
+            return;
+        }
+        output.writeInt(arabicText.getLength());
+        output.write(arabicText.toByteArray());
+    }
+
+    @SneakyThrows
+    private static void writeEnum(DataOutputStream output, Enum<?> value) {
+        output.writeByte(value != null ? value.ordinal() : -1);
+    }
+}
@@ -0,0 +1,11 @@
+package app.qurancorpus.syntax;
+
+// The parts of a GraphResponse that only depend on the graph, not the request.
+public record GraphBody(
+        int legacyCorpusGraphNumber,
+        GraphLocationResponse prev,
+        GraphLocationResponse next,
+        WordResponse[] words,
+        EdgeResponse[] edges,
+        PhraseNodeResponse[] phraseNodes) {
+}
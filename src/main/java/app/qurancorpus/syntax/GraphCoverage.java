@@ -4,14 +4,12 @@ import app.qurancorpus.Interval;
 import app.qurancorpus.orthography.Document;
 import app.qurancorpus.orthography.LocationService;
 import app.qurancorpus.orthography.Token;
-import jakarta.inject.Singleton;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import static java.text.MessageFormat.format;
 
-@Singleton
 public class GraphCoverage {
     private final List<Interval<Token>> coverage;
     private final int tokenCount;
@@ -0,0 +1,195 @@
+package app.qurancorpus.syntax;
+
+import app.qurancorpus.http.EncodedBody;
+import app.qurancorpus.json.JsonFragments;
+import app.qurancorpus.metrics.Metrics;
+import app.qurancorpus.morphology.Field;
+import app.qurancorpus.morphology.TokenTransformer;
+import app.qurancorpus.orthography.Document;
+import app.qurancorpus.orthography.Location;
+import app.qurancorpus.orthography.LocationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.inject.Singleton;
+import lombok.SneakyThrows;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static app.qurancorpus.arabic.encoding.unicode.UnicodeEncoder.toUnicode;
+import static app.qurancorpus.json.JsonFragments.COMMA;
+import static app.qurancorpus.json.JsonFragments.bytes;
+import static app.qurancorpus.metrics.Stage.Serialization;
+import static java.util.Arrays.copyOfRange;
+
+// Renders syntax graphs as JSON, in the same form as GraphResponse. Graphs
+// never change, so the response for each graph is rendered and compressed
+// once, and kept with its encodings.
+@Singleton
+public class GraphRenderer {
+    private static final byte[] GRAPH_NUMBER = bytes("{\"graphNumber\":");
+    private static final byte[] GRAPH_COUNT = bytes(",\"graphCount\":");
+
+    private final Document document;
+    private final SyntaxService syntaxService;
+    private final LocationService locationService;
+    private final LegacyCorpusGraphMapper legacyCorpusGraphMapper;
+    private final TokenTransformer tokenTransformer;
+    private final ObjectMapper objectMapper;
+    private final Metrics metrics;
+    private final AtomicReferenceArray<EncodedBody> graphs;
+
+    public GraphRenderer(
+            Document document,
+            SyntaxService syntaxService,
+            LocationService locationService,
+            LegacyCorpusGraphMapper legacyCorpusGraphMapper,
+            TokenTransformer tokenTransformer,
+            ObjectMapper objectMapper,
+            Metrics metrics) {
+
+        this.document = document;
+        this.syntaxService = syntaxService;
+        this.locationService = locationService;
+        this.legacyCorpusGraphMapper = legacyCorpusGraphMapper;
+        this.tokenTransformer = tokenTransformer;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        graphs = new AtomicReferenceArray<>(syntaxService.getGraphs().size());
+    }
+
+    public JsonFragments render(Location location, int graphNumber) {
+        return render(location, graphNumber, Field.ALL);
+    }
+
+    // Renders a verse's nth graph, or returns null if there is no such graph.
+    public JsonFragments render(Location location, int graphNumber, Set<Field> fields) {
+        var graphSequenceNumbers = getGraphSequenceNumbers(location, graphNumber);
+        if (graphSequenceNumbers == null) {
+            return null;
+        }
+        var graphSequenceNumber = graphSequenceNumbers.get(graphNumber - 1);
+        return fields.equals(Field.ALL)
+                ? new JsonFragments().add(getGraph(graphSequenceNumber, graphNumber, graphSequenceNumbers.size()).identity())
+                : render(graphSequenceNumber, graphNumber, graphSequenceNumbers.size(), fields);
+    }
+
+    // The encoded response for a verse's nth graph, or null if there is no such graph.
+    // Only responses with every field are cached, so others aren't compressed here.
+    public EncodedBody renderEncoded(Location location, int graphNumber, Set<Field> fields) {
+        var graphSequenceNumbers = getGraphSequenceNumbers(location, graphNumber);
+        if (graphSequenceNumbers == null) {
+            return null;
+        }
+        var graphSequenceNumber = graphSequenceNumbers.get(graphNumber - 1);
+        return fields.equals(Field.ALL)
+                ? getGraph(graphSequenceNumber, graphNumber, graphSequenceNumbers.size())
+                : EncodedBody.uncompressed(render(graphSequenceNumber, graphNumber, graphSequenceNumbers.size(), fields).toByteArray());
+    }
+
+    public GraphLocationResponse getGraphLocationResponse(int graphSequenceNumber) {
+        var graphs = syntaxService.getGraphs();
+        if (graphSequenceNumber < 1 || graphSequenceNumber > graphs.size()) {
+            return null;
+        }
+        var tokenLocation = graphs.get(graphSequenceNumber - 1).getFirstToken().location();
+        var verse = document.getVerse(tokenLocation.chapterNumber(), tokenLocation.verseNumber());
+        var location = verse.location();
+        var verseSequenceNumber = locationService.getVerseSequenceNumber(location);
+        var graphSequenceNumbers = syntaxService.getGraphsForVerse(verseSequenceNumber);
+        var graphNumber = graphSequenceNumber - graphSequenceNumbers.get(0) + 1;
+        return new GraphLocationResponse(location.toArray(), graphNumber);
+    }
+
+    private List<Integer> getGraphSequenceNumbers(Location location, int graphNumber) {
+        var verseSequenceNumber = locationService.getVerseSequenceNumber(location);
+        var graphSequenceNumbers = syntaxService.getGraphsForVerse(verseSequenceNumber);
+        return graphSequenceNumbers != null && graphNumber >= 1 && graphNumber <= graphSequenceNumbers.size()
+                ? graphSequenceNumbers
+                : null;
+    }
+
+    // Only responses with complete tokens are cached.
+    private EncodedBody getGraph(int graphSequenceNumber, int graphNumber, int graphCount) {
+        var graph = graphs.get(graphSequenceNumber - 1);
+        if (graph == null) {
+            graph = EncodedBody.encode(render(graphSequenceNumber, graphNumber, graphCount, Field.ALL).toByteArray());
+            graphs.set(graphSequenceNumber - 1, graph);
+        }
+        return graph;
+    }
+
+    private JsonFragments render(int graphSequenceNumber, int graphNumber, int graphCount, Set<Field> fields) {
+        return new JsonFragments()
+                .add(GRAPH_NUMBER).add(String.valueOf(graphNumber))
+                .add(GRAPH_COUNT).add(String.valueOf(graphCount))
+                .add(COMMA).add(renderBody(graphSequenceNumber, fields));
+    }
+
+    private byte[] renderBody(int graphSequenceNumber, Set<Field> fields) {
+        var graph = syntaxService.getGraphs().get(graphSequenceNumber - 1);
+        var json = render(new GraphBody(
+                legacyCorpusGraphMapper.getLegacyCorpusGraphNumber(graphSequenceNumber),
+                getGraphLocationResponse(graphSequenceNumber - 1),
+                getGraphLocationResponse(graphSequenceNumber + 1),
+                getWords(graph.getWords(), fields),
+                getEdges(graph.getEdges()),
+                getPhraseNodes(graph)));
+
+        // Strip the opening brace, so that the body follows the request fields.
+        return copyOfRange(json, 1, json.length);
+    }
+
+    private WordResponse[] getWords(List<Word> words, Set<Field> fields) {
+        var wordCount = words.size();
+        var wordResponses = new WordResponse[wordCount];
+        for (var i = 0; i < wordCount; i++) {
+            var word = words.get(i);
+            var token = word.token();
+            var elidedText = word.elidedText();
+            var elidedPartOfSpeech = word.elidedPartOfSpeech();
+            wordResponses[i] = new WordResponse(
+                    word.type(),
+                    token != null ? tokenTransformer.getTokenResponse(token, false, fields) : null,
+                    elidedText != null ? toUnicode(elidedText) : null,
+                    elidedPartOfSpeech != null ? elidedPartOfSpeech.tag() : null,
+                    word.start(),
+                    word.end());
+        }
+        return wordResponses;
+    }
+
+    private EdgeResponse[] getEdges(List<Edge> edges) {
+        var edgeCount = edges.size();
+        var edgeResponses = new EdgeResponse[edgeCount];
+        for (var i = 0; i < edgeCount; i++) {
+            var edge = edges.get(i);
+            edgeResponses[i] = new EdgeResponse(
+                    edge.dependent().index(),
+                    edge.head().index(),
+                    edge.relation().tag());
+        }
+        return edgeResponses;
+    }
+
+    private PhraseNodeResponse[] getPhraseNodes(SyntaxGraph graph) {
+        var phraseCount = graph.getPhraseCount();
+        var phraseNodeResponses = new PhraseNodeResponse[phraseCount];
+        for (var i = 0; i < phraseCount; i++) {
+            var phraseNode = graph.getPhrase(i + 1);
+            phraseNodeResponses[i] = new PhraseNodeResponse(
+                    phraseNode.start().index(),
+                    phraseNode.end().index(),
+                    phraseNode.phraseType().tag());
+        }
+        return phraseNodeResponses;
+    }
+
+    @SneakyThrows
+    private byte[] render(Object value) {
+        var start = metrics.start();
+        var json = objectMapper.writeValueAsBytes(value);
+        metrics.record(Serialization, start);
+        return json;
+    }
+}
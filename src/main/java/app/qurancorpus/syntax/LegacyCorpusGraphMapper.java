@@ -1,40 +1,44 @@
 package app.qurancorpus.syntax;
 
-import jakarta.inject.Inject;
-import jakarta.inject.Singleton;
+import java.util.List;
 
-@Singleton
 public class LegacyCorpusGraphMapper {
     private static final int GAP_CHAPTER_NUMBER_START = 9;
     private static final int GAP_CHAPTER_NUMBER_END = 58;
+    private final int[] legacyCorpusGraphNumbers;
+    private final int[] graphSequenceNumbers;
 
-    @Inject
-    SyntaxService syntaxService;
+    public LegacyCorpusGraphMapper(List<SyntaxGraph> graphs) {
 
-    public int getLegacyCorpusGraphNumber(int graphSequenceNumber) {
-        var graph = syntaxService.getGraphs().get(graphSequenceNumber - 1);
-        var chapterNumber = graph.getFirstToken().location().chapterNumber();
-
-        if (chapterNumber < GAP_CHAPTER_NUMBER_START) {
-            return graphSequenceNumber;
-        }
-        if (chapterNumber > GAP_CHAPTER_NUMBER_END) {
-            return graphSequenceNumber - getNumberOfGapGraphs(graphSequenceNumber);
+        // The legacy corpus had no graphs for chapters 9 to 58, so graphs after
+        // the gap were numbered without them. Graphs in the gap have no legacy number.
+        var graphCount = graphs.size();
+        legacyCorpusGraphNumbers = new int[graphCount];
+        var legacyCorpusGraphCount = 0;
+        for (var i = 0; i < graphCount; i++) {
+            var chapterNumber = graphs.get(i).getFirstToken().location().chapterNumber();
+            if (chapterNumber < GAP_CHAPTER_NUMBER_START || chapterNumber > GAP_CHAPTER_NUMBER_END) {
+                legacyCorpusGraphNumbers[i] = ++legacyCorpusGraphCount;
+            }
         }
-        return 0;
-    }
 
-    private int getNumberOfGapGraphs(int graphSequenceNumber) {
-        var graphs = syntaxService.getGraphs();
-        var gapGraphs = 0;
-
-        for (var i = 0; i < graphSequenceNumber; i++) {
-            var chapterNumber = graphs.get(i).getFirstToken().location().chapterNumber();
-            if (chapterNumber >= GAP_CHAPTER_NUMBER_START && chapterNumber <= GAP_CHAPTER_NUMBER_END) {
-                gapGraphs++;
+        // reverse mapping
+        graphSequenceNumbers = new int[legacyCorpusGraphCount];
+        for (var i = 0; i < graphCount; i++) {
+            var legacyCorpusGraphNumber = legacyCorpusGraphNumbers[i];
+            if (legacyCorpusGraphNumber != 0) {
+                graphSequenceNumbers[legacyCorpusGraphNumber - 1] = i + 1;
             }
         }
+    }
+
+    public int getLegacyCorpusGraphNumber(int graphSequenceNumber) {
+        return legacyCorpusGraphNumbers[graphSequenceNumber - 1];
+    }
 
-        return gapGraphs;
+    public int getGraphSequenceNumber(int legacyCorpusGraphNumber) {
+        return legacyCorpusGraphNumber >= 1 && legacyCorpusGraphNumber <= graphSequenceNumbers.length
+                ? graphSequenceNumbers[legacyCorpusGraphNumber - 1]
+                : 0;
     }
-}
\ No newline at end of file
+}
@@ -2,7 +2,7 @@ package app.qurancorpus.syntax;
 
 import app.qurancorpus.orthography.Document;
 import app.qurancorpus.orthography.LocationService;
-import jakarta.inject.Singleton;
+import app.qurancorpus.snapshot.CorpusSnapshot;
 import memseqdb.SeqItem;
 import memseqdb.SeqPair;
 import memseqdb.SparseSeq;
@@ -15,69 +15,69 @@ import static app.qurancorpus.ResourceReader.readResource;
 import static app.qurancorpus.syntax.WordType.Token;
 import static java.text.MessageFormat.format;
 
-@Singleton
 public class SyntaxService {
-    private final List<SyntaxGraph> graphs = new ArrayList<>();
+    private final List<SyntaxGraph> graphs;
     private final SparseSeq2Seq tokenToGraph;
     private final SparseSeq<VerseGraphs> verseToGraphs;
+    private final LegacyCorpusGraphMapper legacyCorpusGraphMapper;
+
+    public SyntaxService(Document document, LocationService locationService, CorpusSnapshot snapshot) {
+        var reader = snapshot.getReader();
+        graphs = reader != null ? reader.readGraphs(document) : readGraphs(document);
 
-    public SyntaxService(Document document, LocationService locationService) {
-        var path = "/data/syntax.txt";
-        var reader = new GraphReader(document, readResource(path));
         var tokenToGraph = new ArrayList<SeqPair>();
         var verseToGraphs = new ArrayList<SeqItem<VerseGraphs>>();
-        try {
-            var lastVerseSequenceNumber = 0;
-            VerseGraphs verseGraphs = null;
-            SyntaxGraph graph;
-            while ((graph = reader.readGraph()) != null) {
-                graphs.add(graph);
-                var graphSequenceNumber = graphs.size();
+        var lastVerseSequenceNumber = 0;
+        VerseGraphs verseGraphs = null;
+        var graphCount = graphs.size();
+        for (var i = 0; i < graphCount; i++) {
+            var graph = graphs.get(i);
+            var graphSequenceNumber = i + 1;
 
-                var indexedGraphByVerse = false;
-                for (var word : graph.getWords()) {
-                    if (word.type() != Token) {
-                        continue;
-                    }
+            var indexedGraphByVerse = false;
+            for (var word : graph.getWords()) {
+                if (word.type() != Token) {
+                    continue;
+                }
 
-                    // index graph by token
-                    var location = word.token().location();
-                    var tokenSequenceNumber = locationService.getTokenSequenceNumber(location);
-                    tokenToGraph.add(new SeqPair(tokenSequenceNumber, graphSequenceNumber));
-
-                    // new verse?
-                    var verse = document.getVerse(location.chapterNumber(), location.verseNumber());
-                    var verseSequenceNumber = locationService.getVerseSequenceNumber(verse.location());
-                    if (verseSequenceNumber > lastVerseSequenceNumber) {
-                        lastVerseSequenceNumber = verseSequenceNumber;
-                        indexedGraphByVerse = false;
-                        verseGraphs = null;
-                    }
+                // index graph by token
+                var location = word.token().location();
+                var tokenSequenceNumber = locationService.getTokenSequenceNumber(location);
+                tokenToGraph.add(new SeqPair(tokenSequenceNumber, graphSequenceNumber));
+
+                // new verse?
+                var verse = document.getVerse(location.chapterNumber(), location.verseNumber());
+                var verseSequenceNumber = locationService.getVerseSequenceNumber(verse.location());
+                if (verseSequenceNumber > lastVerseSequenceNumber) {
+                    lastVerseSequenceNumber = verseSequenceNumber;
+                    indexedGraphByVerse = false;
+                    verseGraphs = null;
+                }
 
-                    // index graph by verse
-                    if (!indexedGraphByVerse) {
-                        if (verseGraphs == null) {
-                            verseGraphs = new VerseGraphs(new ArrayList<>());
-                            verseToGraphs.add(new SeqItem<>(verseSequenceNumber, verseGraphs));
-                        }
-                        verseGraphs.graphSequenceNumbers().add(graphSequenceNumber);
-                        indexedGraphByVerse = true;
+                // index graph by verse
+                if (!indexedGraphByVerse) {
+                    if (verseGraphs == null) {
+                        verseGraphs = new VerseGraphs(new ArrayList<>());
+                        verseToGraphs.add(new SeqItem<>(verseSequenceNumber, verseGraphs));
                     }
+                    verseGraphs.graphSequenceNumbers().add(graphSequenceNumber);
+                    indexedGraphByVerse = true;
                 }
             }
-            this.tokenToGraph = new SparseSeq2Seq(tokenToGraph);
-            this.verseToGraphs = new SparseSeq<>(verseToGraphs);
-        } catch (Exception e) {
-            throw new UnsupportedOperationException(
-                    format("{0}:{1}: {2}", path, reader.getLineNumber(), e.getMessage()),
-                    e);
         }
+        this.tokenToGraph = new SparseSeq2Seq(tokenToGraph);
+        this.verseToGraphs = new SparseSeq<>(verseToGraphs);
+        legacyCorpusGraphMapper = new LegacyCorpusGraphMapper(graphs);
     }
 
     public List<SyntaxGraph> getGraphs() {
         return graphs;
     }
 
+    public LegacyCorpusGraphMapper getLegacyCorpusGraphMapper() {
+        return legacyCorpusGraphMapper;
+    }
+
     public int getGraphForToken(int tokenSequenceNumber) {
         return tokenToGraph.getSequenceNumberB(tokenSequenceNumber);
     }
@@ -87,6 +87,23 @@ public class SyntaxService {
         return verseGraphs != null ? verseGraphs.graphSequenceNumbers() : null;
     }
 
+    private static List<SyntaxGraph> readGraphs(Document document) {
+        var path = "/data/syntax.txt";
+        var reader = new GraphReader(document, readResource(path));
+        var graphs = new ArrayList<SyntaxGraph>();
+        try {
+            SyntaxGraph graph;
+            while ((graph = reader.readGraph()) != null) {
+                graphs.add(graph);
+            }
+        } catch (Exception e) {
+            throw new UnsupportedOperationException(
+                    format("{0}:{1}: {2}", path, reader.getLineNumber(), e.getMessage()),
+                    e);
+        }
+        return graphs;
+    }
+
     private record VerseGraphs(List<Integer> graphSequenceNumbers) {
     }
-}
\ No newline at end of file
+}
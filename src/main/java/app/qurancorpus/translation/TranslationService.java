@@ -2,7 +2,6 @@ package app.qurancorpus.translation;
 
 import app.qurancorpus.orthography.Document;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.inject.Singleton;
 import lombok.SneakyThrows;
 
 import java.util.HashMap;
@@ -12,7 +11,6 @@ import static app.qurancorpus.ResourceReader.readResource;
 import static java.text.MessageFormat.format;
 import static java.util.Arrays.stream;
 
-@Singleton
 public class TranslationService {
     private final String[] tokenTranslation;
     private final Map<String, Translation> verseTranslations = new HashMap<>();
@@ -54,6 +52,14 @@ public class TranslationService {
         return translation;
     }
 
+    // The translations for a comma separated list of keys, or null if there are none.
+    public Translation[] getTranslations(String keys) {
+        if (keys == null || keys.length() == 0) return null;
+        return stream(keys.split(","))
+                .map(this::getTranslation)
+                .toArray(Translation[]::new);
+    }
+
     @SneakyThrows
     private String[] readTokenTranslation(Document document) {
         var tokenCount = document.tokenCount();
@@ -1,16 +1,34 @@
 package app.qurancorpus;
 
+import app.qurancorpus.batch.BatchRequest;
+import app.qurancorpus.batch.BatchResponse;
+import app.qurancorpus.cache.CacheStatistics;
+import app.qurancorpus.concordance.ConcordanceResponse;
+import app.qurancorpus.morphology.MorphologyPage;
 import app.qurancorpus.morphology.WordMorphologyResponse;
 import app.qurancorpus.orthography.Location;
 import app.qurancorpus.orthography.VerseResponse;
+import app.qurancorpus.search.FacetResponse;
+import app.qurancorpus.search.FeatureSearchResponse;
+import app.qurancorpus.search.TranslationSearchResponse;
+import app.qurancorpus.syntax.GraphLocationResponse;
 import app.qurancorpus.syntax.GraphResponse;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Get;
+import io.micronaut.http.annotation.Header;
+import io.micronaut.http.annotation.Post;
 import io.micronaut.http.annotation.QueryValue;
 import io.micronaut.http.client.annotation.Client;
 
+import static app.qurancorpus.export.ExportController.APPLICATION_NDJSON;
+import static app.qurancorpus.http.Cbor.APPLICATION_CBOR;
 import static com.fasterxml.jackson.annotation.JsonFormat.Shape.STRING;
+import static io.micronaut.http.HttpHeaders.ACCEPT_ENCODING;
+import static io.micronaut.http.HttpHeaders.IF_NONE_MATCH;
+import static io.micronaut.http.MediaType.TEXT_PLAIN;
 
 @Client("/")
 public interface CorpusClient {
@@ -18,6 +36,9 @@ public interface CorpusClient {
     @Get("metadata")
     MetadataResponse getMetadata();
 
+    @Get("metadata")
+    HttpResponse<MetadataResponse> getMetadataResponse(@Nullable @Header(IF_NONE_MATCH) String entityTag);
+
     @Get("morphology")
     VerseResponse[] getMorphology(
             @QueryValue @JsonFormat(shape = STRING) Location location,
@@ -25,6 +46,27 @@ public interface CorpusClient {
             @Nullable @QueryValue("translation") String translationQuery,
             @Nullable @QueryValue Boolean features);
 
+    @Get("morphology")
+    VerseResponse[] getMorphology(
+            @QueryValue @JsonFormat(shape = STRING) Location location,
+            @QueryValue("n") int count,
+            @QueryValue String fields);
+
+    @Get("morphology")
+    String getMorphologyJson(
+            @QueryValue @JsonFormat(shape = STRING) Location location,
+            @QueryValue("n") int count);
+
+    @Get(value = "morphology", consumes = APPLICATION_CBOR)
+    HttpResponse<byte[]> getMorphologyCbor(
+            @QueryValue @JsonFormat(shape = STRING) Location location,
+            @QueryValue("n") int count);
+
+    @Get("morphology/page")
+    MorphologyPage getMorphologyPage(
+            @Nullable @QueryValue @JsonFormat(shape = STRING) Location location,
+            @Nullable @QueryValue String cursor);
+
     @Get("morphology/word")
     WordMorphologyResponse getWordMorphology(@QueryValue @JsonFormat(shape = STRING) Location location);
 
@@ -33,6 +75,83 @@ public interface CorpusClient {
             @QueryValue @JsonFormat(shape = STRING) Location location,
             @QueryValue("graph") int graphNumber);
 
+    @Get("syntax")
+    GraphResponse getSyntax(
+            @QueryValue @JsonFormat(shape = STRING) Location location,
+            @QueryValue("graph") int graphNumber,
+            @QueryValue String fields);
+
+    @Get("syntax")
+    HttpResponse<GraphResponse> getSyntaxResponse(
+            @QueryValue @JsonFormat(shape = STRING) Location location,
+            @QueryValue("graph") int graphNumber,
+            @Nullable @Header(IF_NONE_MATCH) String entityTag);
+
+    @Get("syntax")
+    HttpResponse<GraphResponse> getEncodedSyntaxResponse(
+            @QueryValue @JsonFormat(shape = STRING) Location location,
+            @QueryValue("graph") int graphNumber,
+            @Header(ACCEPT_ENCODING) String acceptEncoding);
+
+    @Get("syntax")
+    HttpResponse<GraphResponse> getConditionalSyntaxResponse(
+            @QueryValue @JsonFormat(shape = STRING) Location location,
+            @QueryValue("graph") int graphNumber,
+            @Header(IF_NONE_MATCH) String entityTag,
+            @Header(ACCEPT_ENCODING) String acceptEncoding);
+
+    @Get("syntax")
+    String getSyntaxJson(
+            @QueryValue @JsonFormat(shape = STRING) Location location,
+            @QueryValue("graph") int graphNumber);
+
+    @Get(value = "syntax", consumes = APPLICATION_CBOR)
+    HttpResponse<byte[]> getSyntaxCbor(
+            @QueryValue @JsonFormat(shape = STRING) Location location,
+            @QueryValue("graph") int graphNumber);
+
+    @Get(value = "syntax", consumes = APPLICATION_CBOR)
+    HttpResponse<byte[]> getConditionalSyntaxCbor(
+            @QueryValue @JsonFormat(shape = STRING) Location location,
+            @QueryValue("graph") int graphNumber,
+            @Header(IF_NONE_MATCH) String entityTag);
+
+    @Get("syntax/legacy")
+    GraphLocationResponse getLegacyCorpusGraph(@QueryValue("graph") int legacyCorpusGraphNumber);
+
+    @Get(value = "export", consumes = APPLICATION_NDJSON)
+    String export(@QueryValue String unit, @QueryValue int from, @QueryValue int to);
+
+    @Post("batch")
+    BatchResponse getBatch(@Body BatchRequest request);
+
+    @Get("concordance/root")
+    ConcordanceResponse getRootConcordance(@QueryValue String root, @QueryValue int page);
+
+    @Get("concordance/root")
+    HttpResponse<ConcordanceResponse> getRootConcordanceResponse(@QueryValue String root, @QueryValue int page);
+
+    @Get("concordance/lemma")
+    ConcordanceResponse getLemmaConcordance(@QueryValue String lemma, @QueryValue int page);
+
+    @Get("search/features")
+    FeatureSearchResponse searchFeatures(@QueryValue("q") String query, @QueryValue int page);
+
+    @Get("search/facets")
+    FacetResponse getFacets(@Nullable @QueryValue("q") String query, @QueryValue String facet);
+
+    @Get("search/translation")
+    TranslationSearchResponse searchTranslation(
+            @QueryValue("q") String query,
+            @QueryValue String translation,
+            @QueryValue int size);
+
+    @Get("cache")
+    CacheStatistics[] getCacheStatistics();
+
+    @Get(value = "metrics", consumes = TEXT_PLAIN)
+    String getMetrics();
+
     @Get("irab")
     String[] getIrab(
             @QueryValue @JsonFormat(shape = STRING) Location from,
@@ -25,6 +25,9 @@ class PhoneticTest {
     @Inject
     MorphologyGraph morphologyGraph;
 
+    @Inject
+    PhoneticService phoneticService;
+
     @Test
     void shouldEncodeWord() {
         var text = fromBuckwalter("A^dam");
@@ -59,4 +62,15 @@ class PhoneticTest {
             }
         }
     }
+
+    @Test
+    @SneakyThrows
+    void shouldPrecomputeDocument() {
+        try (var reader = new BufferedReader(new FileReader("regression/phonetic.txt"))) {
+            var tokenCount = document.tokenCount();
+            for (var i = 1; i <= tokenCount; i++) {
+                assertThat(phoneticService.getPhonetic(i), is(equalTo(reader.readLine())));
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package app.qurancorpus.batch;
+
+import app.qurancorpus.CorpusClient;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static io.micronaut.http.HttpStatus.BAD_REQUEST;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@MicronautTest
+class BatchApiTest {
+
+    @Inject
+    CorpusClient client;
+
+    @Test
+    void shouldGetBatch() {
+        var batch = client.getBatch(new BatchRequest(
+                new String[]{"104:4:2", "1:1:1", "104:4:2"},
+                new GraphQuery[]{
+                        new GraphQuery("4:79", 3),
+                        new GraphQuery("4:79", 1),
+                        new GraphQuery("4:79", 5)
+                }));
+
+        var words = batch.words();
+        assertThat(words.length, is(equalTo(3)));
+        assertThat(words[0].token().location(), is(equalTo(new int[]{104, 4, 2})));
+        assertThat(words[1].token().location(), is(equalTo(new int[]{1, 1, 1})));
+        assertThat(words[2].summary(), is(equalTo(words[0].summary())));
+
+        var graphs = batch.graphs();
+        assertThat(graphs.length, is(equalTo(3)));
+        assertThat(graphs[0].graphNumber(), is(equalTo(3)));
+        assertThat(graphs[0].legacyCorpusGraphNumber(), is(equalTo(2553)));
+        assertThat(graphs[1].graphNumber(), is(equalTo(1)));
+        assertThat(graphs[2], is(nullValue()));
+    }
+
+    @Test
+    void shouldRejectLongRequest() {
+        var words = new String[101];
+        for (var i = 0; i < words.length; i++) {
+            words[i] = "1:1:1";
+        }
+
+        var error = assertThrows(
+                HttpClientResponseException.class,
+                () -> client.getBatch(new BatchRequest(words, null)));
+
+        assertThat(error.getStatus(), is(equalTo(BAD_REQUEST)));
+    }
+}
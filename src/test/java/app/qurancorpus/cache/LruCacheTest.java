@@ -0,0 +1,40 @@
+package app.qurancorpus.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class LruCacheTest {
+
+    @Test
+    void shouldEvictLeastRecentlyUsed() {
+        var cache = new LruCache<Integer, String>(2);
+        cache.get(1, String::valueOf);
+        cache.get(2, String::valueOf);
+        cache.get(1, String::valueOf);
+        cache.get(3, String::valueOf);
+        cache.get(2, String::valueOf);
+
+        var statistics = cache.getStatistics("test");
+        assertThat(statistics.size(), is(equalTo(2)));
+        assertThat(statistics.hitCount(), is(equalTo(1L)));
+        assertThat(statistics.missCount(), is(equalTo(4L)));
+        assertThat(statistics.evictionCount(), is(equalTo(2L)));
+        assertThat(statistics.hitRate(), is(equalTo(0.2)));
+    }
+
+    @Test
+    void shouldEvictByWeight() {
+        var cache = new LruCache<String, String>(100, 10, String::length);
+        cache.get("aaaa", x -> x);
+        cache.get("bbbb", x -> x);
+        cache.get("cccc", x -> x);
+
+        var statistics = cache.getStatistics("test");
+        assertThat(statistics.size(), is(equalTo(2)));
+        assertThat(statistics.weight(), is(equalTo(8L)));
+        assertThat(statistics.evictionCount(), is(equalTo(1L)));
+    }
+}
@@ -0,0 +1,92 @@
+package app.qurancorpus.concordance;
+
+import app.qurancorpus.CorpusClient;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static io.micronaut.http.HttpStatus.BAD_REQUEST;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@MicronautTest
+class ConcordanceApiTest {
+
+    @Inject
+    CorpusClient client;
+
+    @Test
+    void shouldGetRoot() {
+        var response = client.getRootConcordance("ktb", 1);
+        assertThat(response.key(), is(equalTo("ktb")));
+        assertThat(response.tokenCount(), is(equalTo(319)));
+        assertThat(response.verseCount(), is(equalTo(279)));
+        assertThat(response.chapterCount(), is(equalTo(61)));
+        assertThat(response.chapters()[0], is(equalTo(new ChapterFrequency(2, 48))));
+        assertThat(response.pageCount(), is(equalTo(4)));
+        assertThat(response.tokens().length, is(equalTo(100)));
+        assertThat(response.tokens()[0].location(), is(equalTo(new int[]{2, 2, 2})));
+    }
+
+    @Test
+    void shouldGetLastPage() {
+        var response = client.getRootConcordance("ktb", 4);
+        var tokens = response.tokens();
+        assertThat(tokens.length, is(equalTo(19)));
+        assertThat(tokens[tokens.length - 1].location(), is(equalTo(new int[]{98, 6, 6})));
+    }
+
+    @Test
+    void shouldGetEmptyPageAfterLast() {
+        var response = client.getRootConcordance("ktb", 30_000_000);
+        assertThat(response.tokenCount(), is(equalTo(319)));
+        assertThat(response.tokens().length, is(equalTo(0)));
+    }
+
+    @Test
+    void shouldAcceptUnicodeRoot() {
+        var response = client.getRootConcordance("ك ت ب", 1);
+        assertThat(response.key(), is(equalTo("ktb")));
+        assertThat(response.arabic(), is(equalTo("كتب")));
+    }
+
+    @Test
+    void shouldNotFindUnknownRoot() {
+        assertThat(client.getRootConcordance("xyz", 1), is(nullValue()));
+    }
+
+    @Test
+    void shouldGetLemma() {
+        var response = client.getLemmaConcordance("{ll~ah", 1);
+        assertThat(response.tokenCount(), is(equalTo(2699)));
+        assertThat(response.verseCount(), is(equalTo(1821)));
+        assertThat(response.chapters()[0], is(equalTo(new ChapterFrequency(1, 2))));
+        assertThat(response.tokens()[0].location(), is(equalTo(new int[]{1, 1, 2})));
+    }
+
+    @Test
+    void shouldAcceptUnicodeLemma() {
+        var response = client.getLemmaConcordance("ٱللَّه", 1);
+        assertThat(response.key(), is(equalTo("{ll~ah")));
+    }
+
+    @Test
+    void shouldGetNumberedLemma() {
+        var response = client.getLemmaConcordance("EaAd2", 1);
+        assertThat(response.tokenCount(), is(equalTo(24)));
+        assertThat(response.chapterCount(), is(equalTo(18)));
+    }
+
+    @Test
+    void shouldRejectAmbiguousLemma() {
+        var error = assertThrows(
+                HttpClientResponseException.class,
+                () -> client.getLemmaConcordance("عَاد", 1));
+
+        assertThat(error.getStatus(), is(equalTo(BAD_REQUEST)));
+    }
+}
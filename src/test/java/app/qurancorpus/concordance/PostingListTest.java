@@ -0,0 +1,42 @@
+package app.qurancorpus.concordance;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PostingListTest {
+
+    @Test
+    void shouldDecodePages() {
+        var builder = new PostingListBuilder();
+        for (var i = 1; i <= 1000; i++) {
+            builder.add(i * i);
+        }
+        var postingList = builder.build();
+
+        assertThat(postingList.size(), is(equalTo(1000)));
+        assertThat(postingList.toArray(0, 3), is(equalTo(new int[]{1, 4, 9})));
+        assertThat(postingList.toArray(127, 3), is(equalTo(new int[]{128 * 128, 129 * 129, 130 * 130})));
+        assertThat(postingList.toArray(998, 10), is(equalTo(new int[]{999 * 999, 1000 * 1000})));
+        assertThat(postingList.toArray(1000, 10).length, is(equalTo(0)));
+    }
+
+    @Test
+    void shouldIgnoreRepeatedPostings() {
+        var builder = new PostingListBuilder();
+        builder.add(5);
+        builder.add(5);
+        builder.add(7);
+        assertThat(builder.build().toArray(), is(equalTo(new int[]{5, 7})));
+    }
+
+    @Test
+    void shouldRejectDescendingPostings() {
+        var builder = new PostingListBuilder();
+        builder.add(5);
+        assertThrows(UnsupportedOperationException.class, () -> builder.add(3));
+    }
+}
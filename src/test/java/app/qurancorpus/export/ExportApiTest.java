@@ -0,0 +1,45 @@
+package app.qurancorpus.export;
+
+import app.qurancorpus.CorpusClient;
+import app.qurancorpus.orthography.TokenResponse;
+import app.qurancorpus.orthography.VerseResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+@MicronautTest
+class ExportApiTest {
+
+    @Inject
+    CorpusClient client;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Test
+    @SneakyThrows
+    void shouldExportVerses() {
+        var lines = client.export("verse", 113, 114).split("\n");
+        assertThat(lines.length, is(equalTo(11)));
+
+        var verse = objectMapper.readValue(lines[5], VerseResponse.class);
+        assertThat(verse.location(), is(equalTo(new int[]{114, 1})));
+        assertThat(verse.tokens().length, is(equalTo(4)));
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldExportTokens() {
+        var lines = client.export("token", 1, 1).split("\n");
+        assertThat(lines.length, is(equalTo(29)));
+
+        var token = objectMapper.readValue(lines[28], TokenResponse.class);
+        assertThat(token.location(), is(equalTo(new int[]{1, 7, 9})));
+    }
+}
@@ -0,0 +1,46 @@
+package app.qurancorpus.http;
+
+import app.qurancorpus.CorpusClient;
+import app.qurancorpus.orthography.Location;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import static app.qurancorpus.http.Cbor.APPLICATION_CBOR;
+import static io.micronaut.http.HttpHeaders.CONTENT_TYPE;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+
+@MicronautTest
+class CborApiTest {
+
+    @Inject
+    CorpusClient client;
+
+    @Test
+    @SneakyThrows
+    void shouldGetMorphologyAsCbor() {
+        var location = new Location(1, 1);
+        var response = client.getMorphologyCbor(location, 7);
+        assertThat(response.getHeaders().get(CONTENT_TYPE), startsWith(APPLICATION_CBOR));
+
+        var json = client.getMorphologyJson(location, 7);
+        assertThat(new CBORMapper().readTree(response.body()), is(equalTo(new ObjectMapper().readTree(json))));
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldGetSyntaxAsCbor() {
+        var location = new Location(4, 79);
+        var response = client.getSyntaxCbor(location, 1);
+        assertThat(response.getHeaders().get(CONTENT_TYPE), startsWith(APPLICATION_CBOR));
+
+        var json = client.getSyntaxJson(location, 1);
+        assertThat(new CBORMapper().readTree(response.body()), is(equalTo(new ObjectMapper().readTree(json))));
+    }
+}
@@ -0,0 +1,34 @@
+package app.qurancorpus.http;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import static app.qurancorpus.http.Cbor.isPreferred;
+import static app.qurancorpus.http.Cbor.toCbor;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class CborTest {
+
+    @Test
+    @SneakyThrows
+    void shouldTranscodeJson() {
+        var json = "[{\"location\":[1,1],\"tokens\":[{\"phonetic\":\"bis'mi\",\"arabic\":\"بِسْمِ\"}]}]".getBytes();
+        var cbor = toCbor(json);
+        assertThat(cbor.length, is(lessThan(json.length)));
+        assertThat(new CBORMapper().readTree(cbor), is(equalTo(new ObjectMapper().readTree(json))));
+    }
+
+    @Test
+    void shouldPreferCbor() {
+        assertThat(isPreferred("application/cbor"), is(equalTo(true)));
+        assertThat(isPreferred("application/cbor, */*"), is(equalTo(true)));
+        assertThat(isPreferred("application/json;q=0.5, application/cbor"), is(equalTo(true)));
+        assertThat(isPreferred("application/json, application/cbor"), is(equalTo(false)));
+        assertThat(isPreferred("application/json"), is(equalTo(false)));
+        assertThat(isPreferred("*/*"), is(equalTo(false)));
+        assertThat(isPreferred(null), is(equalTo(false)));
+    }
+}
@@ -0,0 +1,89 @@
+package app.qurancorpus.http;
+
+import app.qurancorpus.CorpusClient;
+import app.qurancorpus.orthography.Location;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static app.qurancorpus.http.EncodedBody.GZIP;
+import static io.micronaut.http.HttpHeaders.ACCEPT_ENCODING;
+import static io.micronaut.http.HttpHeaders.CACHE_CONTROL;
+import static io.micronaut.http.HttpHeaders.ETAG;
+import static io.micronaut.http.HttpHeaders.VARY;
+import static io.micronaut.http.HttpStatus.NOT_MODIFIED;
+import static io.micronaut.http.HttpStatus.OK;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@MicronautTest
+class ConditionalRequestTest {
+
+    @Inject
+    CorpusClient client;
+
+    @Test
+    void shouldAddEntityTag() {
+        var response = client.getMetadataResponse(null);
+        assertThat(response.getStatus(), is(equalTo(OK)));
+        assertThat(response.getHeaders().get(ETAG), startsWith("\""));
+        assertThat(response.getHeaders().get(CACHE_CONTROL), is(equalTo("public, max-age=86400")));
+    }
+
+    @Test
+    void shouldNotModifyMatchingEntityTag() {
+        var entityTag = client.getMetadataResponse(null).getHeaders().get(ETAG);
+        var response = client.getMetadataResponse(entityTag);
+        assertThat(response.getStatus(), is(equalTo(NOT_MODIFIED)));
+        assertThat(response.getHeaders().get(ETAG), is(equalTo(entityTag)));
+    }
+
+    @Test
+    void shouldChangeEntityTagWithQuery() {
+        var location = new Location(4, 79);
+        var entityTag = client.getSyntaxResponse(location, 1, null).getHeaders().get(ETAG);
+        assertThat(client.getSyntaxResponse(location, 1, entityTag).getStatus(), is(equalTo(NOT_MODIFIED)));
+
+        var response = client.getSyntaxResponse(location, 2, entityTag);
+        assertThat(response.getStatus(), is(equalTo(OK)));
+        assertThat(response.getHeaders().get(ETAG), is(not(equalTo(entityTag))));
+    }
+
+    @Test
+    void shouldTagEachEncoding() {
+        var location = new Location(4, 79);
+        var identity = client.getEncodedSyntaxResponse(location, 1, "identity").getHeaders().get(ETAG);
+        var gzip = client.getEncodedSyntaxResponse(location, 1, GZIP).getHeaders().get(ETAG);
+        assertThat(gzip, startsWith("\""));
+        assertThat(gzip, is(not(equalTo(identity))));
+    }
+
+    @Test
+    void shouldOnlyMatchSelectedEncoding() {
+        var location = new Location(4, 79);
+        var gzip = client.getEncodedSyntaxResponse(location, 1, GZIP).getHeaders().get(ETAG);
+        assertThat(client.getConditionalSyntaxResponse(location, 1, gzip, GZIP).getStatus(), is(equalTo(NOT_MODIFIED)));
+
+        var response = client.getConditionalSyntaxResponse(location, 1, gzip, "identity");
+        assertThat(response.getStatus(), is(equalTo(OK)));
+        assertThat(response.getHeaders().get(ETAG), is(not(equalTo(gzip))));
+    }
+
+    @Test
+    void shouldOnlyMatchSelectedContentType() {
+        var location = new Location(4, 79);
+        var cbor = client.getSyntaxCbor(location, 1).getHeaders().get(ETAG);
+        assertThat(client.getConditionalSyntaxCbor(location, 1, cbor).getStatus(), is(equalTo(NOT_MODIFIED)));
+
+        var response = client.getSyntaxResponse(location, 1, cbor);
+        assertThat(response.getStatus(), is(equalTo(OK)));
+        assertThat(response.getHeaders().get(ETAG), is(not(equalTo(cbor))));
+    }
+
+    @Test
+    void shouldWeakTagBodiesCompressedByServer() {
+        var response = client.getRootConcordanceResponse("ktb", 1);
+        assertThat(response.getHeaders().get(ETAG), startsWith("W/\""));
+        assertThat(response.getHeaders().getAll(VARY), hasItem(ACCEPT_ENCODING));
+    }
+}
@@ -0,0 +1,51 @@
+package app.qurancorpus.http;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.zip.GZIPInputStream;
+
+import static app.qurancorpus.http.EncodedBody.acceptsGzip;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class EncodedBodyTest {
+
+    @Test
+    @SneakyThrows
+    void shouldCompressLargeBody() {
+        var body = "[{\"location\":[1,1]}]".repeat(100).getBytes();
+        var encodedBody = EncodedBody.encode(body);
+        assertThat(encodedBody.gzip().length, is(lessThan(body.length)));
+        assertThat(encodedBody.weight(), is(equalTo((long) body.length + encodedBody.gzip().length)));
+
+        try (var stream = new GZIPInputStream(new ByteArrayInputStream(encodedBody.gzip()))) {
+            assertThat(stream.readAllBytes(), is(equalTo(body)));
+        }
+    }
+
+    @Test
+    void shouldTranscodeCborWhenAskedFor() {
+        var encodedBody = EncodedBody.encode("[{\"location\":[1,1]}]".getBytes());
+        var cbor = encodedBody.cbor();
+        assertThat(cbor, is(equalTo(Cbor.toCbor("[{\"location\":[1,1]}]".getBytes()))));
+        assertThat(encodedBody.cbor(), is(sameInstance(cbor)));
+    }
+
+    @Test
+    void shouldNotCompressSmallBody() {
+        var encodedBody = EncodedBody.encode("[]".getBytes());
+        assertThat(encodedBody.gzip(), is(nullValue()));
+    }
+
+    @Test
+    void shouldAcceptGzip() {
+        assertThat(acceptsGzip("gzip, deflate, br"), is(equalTo(true)));
+        assertThat(acceptsGzip("br;q=1.0, gzip;q=0.8"), is(equalTo(true)));
+        assertThat(acceptsGzip("*"), is(equalTo(true)));
+        assertThat(acceptsGzip("gzip;q=0, *"), is(equalTo(false)));
+        assertThat(acceptsGzip("identity"), is(equalTo(false)));
+        assertThat(acceptsGzip(null), is(equalTo(false)));
+    }
+}
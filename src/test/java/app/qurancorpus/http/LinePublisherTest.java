@@ -0,0 +1,90 @@
+package app.qurancorpus.http;
+
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class LinePublisherTest {
+
+    @Test
+    void shouldOnlyRenderRequestedLines() {
+        var rendered = new ArrayList<Integer>();
+        var subscriber = new TestSubscriber();
+        new LinePublisher<>(5, i -> {
+            rendered.add(i);
+            return i;
+        }, Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(2);
+        assertThat(rendered, contains(0, 1));
+        assertThat(subscriber.completed, is(equalTo(false)));
+
+        subscriber.subscription.request(10);
+        assertThat(subscriber.lines, contains(0, 1, 2, 3, 4));
+        assertThat(subscriber.completed, is(equalTo(true)));
+    }
+
+    @Test
+    void shouldStopWhenCancelled() {
+        var subscriber = new TestSubscriber() {
+
+            @Override
+            public void onNext(Integer line) {
+                super.onNext(line);
+                subscription.cancel();
+            }
+        };
+        new LinePublisher<>(5, i -> i, Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(5);
+        assertThat(subscriber.lines, contains(0));
+        assertThat(subscriber.completed, is(equalTo(false)));
+    }
+
+    @Test
+    void shouldRenderOnExecutor() {
+        var tasks = new ArrayList<Runnable>();
+        var subscriber = new TestSubscriber();
+        new LinePublisher<>(3, i -> i, tasks::add).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        subscriber.subscription.request(1);
+        assertThat(subscriber.lines, is(empty()));
+        assertThat(tasks, hasSize(1));
+
+        tasks.get(0).run();
+        assertThat(subscriber.lines, contains(0, 1));
+    }
+
+    private static class TestSubscriber implements Subscriber<Integer> {
+        final List<Integer> lines = new ArrayList<>();
+        Subscription subscription;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Integer line) {
+            lines.add(line);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            throw new AssertionError(error);
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
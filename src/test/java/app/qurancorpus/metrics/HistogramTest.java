@@ -0,0 +1,46 @@
+package app.qurancorpus.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class HistogramTest {
+
+    @Test
+    void shouldCountCumulatively() {
+        var histogram = new Histogram(new long[]{10, 100});
+        histogram.record(5);
+        histogram.record(10);
+        histogram.record(50);
+        histogram.record(500);
+
+        assertThat(histogram.getCumulativeCounts(), is(equalTo(new long[]{2, 3, 4})));
+        assertThat(histogram.getSum(), is(equalTo(565L)));
+    }
+
+    @Test
+    void shouldWriteSeconds() {
+        var histogram = new Histogram(new long[]{250_000, 1_000_000});
+        histogram.record(100_000);
+        histogram.record(2_000_000);
+
+        var writer = new PrometheusWriter();
+        writer.histogram("test_seconds", "endpoint", "test", histogram, 9);
+        assertThat(writer.toString(), is(equalTo("""
+                test_seconds_bucket{endpoint="test",le="0.00025"} 1
+                test_seconds_bucket{endpoint="test",le="0.001"} 1
+                test_seconds_bucket{endpoint="test",le="+Inf"} 2
+                test_seconds_sum{endpoint="test"} 0.0021
+                test_seconds_count{endpoint="test"} 2
+                """)));
+    }
+
+    @Test
+    void shouldGetDecimalBounds() {
+        assertThat(
+                Histogram.getDecimalBounds(100, 10_000),
+                is(equalTo(new long[]{100, 250, 500, 1000, 2500, 5000, 10_000})));
+    }
+}
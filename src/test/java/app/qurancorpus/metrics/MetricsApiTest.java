@@ -0,0 +1,41 @@
+package app.qurancorpus.metrics;
+
+import app.qurancorpus.CorpusClient;
+import app.qurancorpus.orthography.Location;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+
+@MicronautTest
+class MetricsApiTest {
+
+    @Inject
+    CorpusClient client;
+
+    @Test
+    void shouldTimeEndpoints() {
+        client.getMorphology(new Location(2, 255), 1, null, null);
+        var metrics = client.getMetrics();
+        assertThat(metrics, containsString("# TYPE corpus_request_duration_seconds histogram\n"));
+        assertThat(metrics, containsString(
+                "corpus_request_duration_seconds_bucket{endpoint=\"MorphologyController.getMorphology\",le=\"+Inf\"}"));
+    }
+
+    @Test
+    void shouldTimeStages() {
+        client.getWordMorphology(new Location(1, 1, 1));
+        var metrics = client.getMetrics();
+        assertThat(metrics, containsString("corpus_stage_duration_seconds_count{stage=\"location_parsing\"}"));
+        assertThat(metrics, containsString("corpus_stage_duration_seconds_count{stage=\"nlg_generation\"}"));
+        assertThat(metrics, containsString("corpus_stage_duration_seconds_bucket{stage=\"serialization\",le=\"0.0000001\"}"));
+    }
+
+    @Test
+    void shouldExposeCaches() {
+        var metrics = client.getMetrics();
+        assertThat(metrics, containsString("corpus_cache_hits_total{cache=\"morphology\"}"));
+    }
+}
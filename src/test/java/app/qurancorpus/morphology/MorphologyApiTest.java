@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import static app.qurancorpus.orthography.VerseMark.Sajdah;
 import static app.qurancorpus.orthography.VerseMark.Section;
 import static io.micronaut.http.HttpStatus.BAD_REQUEST;
+import static java.util.Arrays.stream;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -154,6 +155,26 @@ class MorphologyApiTest {
         assertThat(verseWithSection[0].verseMark(), is(equalTo(Section)));
     }
 
+    @Test
+    void shouldOnlyGetSelectedFields() {
+        var verse = client.getMorphology(new Location(7, 206), 1, "segments")[0];
+        assertThat(verse.verseMark(), is(nullValue()));
+
+        var token = verse.tokens()[0];
+        assertThat(token.location(), is(equalTo(new int[]{7, 206, 1})));
+        assertThat(token.translation(), is(nullValue()));
+        assertThat(token.phonetic(), is(nullValue()));
+        assertThat(token.segments().length, is(greaterThanOrEqualTo(1)));
+    }
+
+    @Test
+    void shouldRejectUnknownField() {
+        var error = assertThrows(
+                HttpClientResponseException.class,
+                () -> client.getMorphology(new Location(1, 1), 1, "arabic"));
+        assertThat(error.getStatus(), is(equalTo(BAD_REQUEST)));
+    }
+
     @Test
     void shouldGetNoTranslations() {
         var verses = client.getMorphology(
@@ -236,4 +257,19 @@ class MorphologyApiTest {
                 wordMorphology.arabicGrammar(),
                 is(equalTo("اللام لام التوكيد\nفعل مضارع مبني للمجهول والنون للتوكيد")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldCacheMorphology() {
+        var verses1 = client.getMorphology(new Location(112, 1), 10, "sahih-international", null);
+        var verses2 = client.getMorphology(new Location(112, 1), 4, "sahih-international", null);
+        assertThat(verses2.length, is(equalTo(verses1.length)));
+        assertThat(verses2[3].tokens()[0].phonetic(), is(equalTo(verses1[3].tokens()[0].phonetic())));
+
+        var statistics = stream(client.getCacheStatistics())
+                .filter(x -> x.name().equals("morphology"))
+                .findFirst()
+                .orElseThrow();
+        assertThat(statistics.hitCount(), is(greaterThanOrEqualTo(1L)));
+        assertThat(statistics.weight(), is(greaterThan(0L)));
+    }
+}
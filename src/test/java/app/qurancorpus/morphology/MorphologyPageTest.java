@@ -0,0 +1,54 @@
+package app.qurancorpus.morphology;
+
+import app.qurancorpus.CorpusClient;
+import app.qurancorpus.orthography.Location;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static io.micronaut.http.HttpStatus.BAD_REQUEST;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@MicronautTest
+class MorphologyPageTest {
+
+    @Inject
+    CorpusClient client;
+
+    @Test
+    void shouldPageThroughChapter() {
+        var page = client.getMorphologyPage(new Location(2, 1), null);
+        var pageCount = 1;
+        var verseNumber = 0;
+        while (true) {
+            for (var verse : page.verses()) {
+                assertThat(verse.location(), is(equalTo(new int[]{2, ++verseNumber})));
+            }
+            if (page.cursor() == null) break;
+            page = client.getMorphologyPage(null, page.cursor());
+            pageCount++;
+        }
+
+        assertThat(verseNumber, is(equalTo(286)));
+        assertThat(pageCount, is(greaterThan(1)));
+    }
+
+    @Test
+    void shouldGetLastPage() {
+        var page = client.getMorphologyPage(new Location(114, 1), null);
+        assertThat(page.verses().length, is(equalTo(6)));
+        assertThat(page.cursor(), is(nullValue()));
+    }
+
+    @Test
+    void shouldRejectInvalidCursor() {
+        var error = assertThrows(
+                HttpClientResponseException.class,
+                () -> client.getMorphologyPage(null, "not a cursor"));
+
+        assertThat(error.getStatus(), is(equalTo(BAD_REQUEST)));
+    }
+}
@@ -1,18 +1,23 @@
 package app.qurancorpus.morphology;
 
+import app.qurancorpus.lexicography.LemmaService;
 import app.qurancorpus.morphology.segmentation.MorphologyWriter;
 import app.qurancorpus.orthography.Document;
+import app.qurancorpus.orthography.LocationService;
+import app.qurancorpus.snapshot.CorpusSnapshot;
 import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
 import jakarta.inject.Inject;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.Test;
 
 import static app.qurancorpus.ResourceReader.readResource;
+import static app.qurancorpus.arabic.encoding.unicode.UnicodeEncoder.toUnicode;
 import static app.qurancorpus.morphology.Diptote.isDiptoteWithGenitiveFatha;
 import static app.qurancorpus.morphology.Morphology.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 
 @MicronautTest
 class MorphologyTest {
@@ -23,6 +28,12 @@ class MorphologyTest {
     @Inject
     MorphologyGraph morphologyGraph;
 
+    @Inject
+    LocationService locationService;
+
+    @Inject
+    LemmaService lemmaService;
+
     @Test
     @SneakyThrows
     void shouldRoundTripMorphology() {
@@ -39,6 +50,42 @@ class MorphologyTest {
         }
     }
 
+    @Test
+    void shouldGetSegmentsByTokenSequenceNumber() {
+        var tokenSequenceNumber = 0;
+        for (var chapter : document.children()) {
+            for (var verse : chapter.verses()) {
+                for (var token : verse.tokens()) {
+                    tokenSequenceNumber++;
+                    var segments = morphologyGraph.query(token);
+                    var segmentCount = morphologyGraph.getSegmentCount(tokenSequenceNumber);
+                    assertThat(segmentCount, is(equalTo(segments.length)));
+                    for (var i = 0; i < segmentCount; i++) {
+                        assertThat(morphologyGraph.getSegment(tokenSequenceNumber, i), is(sameInstance(segments[i])));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldSegmentInParallel() {
+        var loader = new MorphologyLoader(document, locationService, lemmaService, new CorpusSnapshot(""));
+        var serial = loader.readSegments(false);
+        var parallel = loader.readSegments(true);
+        assertThat(parallel.length, is(equalTo(serial.length)));
+
+        var writer = new MorphologyWriter();
+        for (var i = 0; i < serial.length; i++) {
+            assertThat(writer.write(parallel[i]), is(equalTo(writer.write(serial[i]))));
+            for (var j = 0; j < serial[i].length; j++) {
+                assertThat(
+                        toUnicode(parallel[i][j].getArabicText()),
+                        is(equalTo(toUnicode(serial[i][j].getArabicText()))));
+            }
+        }
+    }
+
     @Test
     void shouldCountDiptotes() {
         var n = 0;
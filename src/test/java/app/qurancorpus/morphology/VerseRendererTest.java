@@ -0,0 +1,91 @@
+package app.qurancorpus.morphology;
+
+import app.qurancorpus.json.JsonFragments;
+import app.qurancorpus.orthography.*;
+import app.qurancorpus.translation.Translation;
+import app.qurancorpus.translation.TranslationResponse;
+import app.qurancorpus.translation.TranslationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+@MicronautTest
+class VerseRendererTest {
+
+    @Inject
+    Document document;
+
+    @Inject
+    LocationService locationService;
+
+    @Inject
+    TranslationService translationService;
+
+    @Inject
+    OrthographyService orthographyService;
+
+    @Inject
+    TokenTransformer tokenTransformer;
+
+    @Inject
+    VerseRenderer verseRenderer;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Test
+    @SneakyThrows
+    void shouldRenderSameJsonAsVerseResponse() {
+        var translations = new Translation[]{
+                translationService.getTranslation("sahih-international"),
+                translationService.getTranslation("pickthall")
+        };
+
+        for (var chapter : document.children()) {
+            for (var verse : chapter.verses()) {
+                for (var features : new boolean[]{false, true}) {
+                    var verseTranslations = features ? null : translations;
+                    var json = new JsonFragments();
+                    verseRenderer.writeVerse(json, verse, verseTranslations, features, Field.ALL);
+                    assertThat(
+                            new String(json.toByteArray(), UTF_8),
+                            is(equalTo(objectMapper.writeValueAsString(
+                                    getVerseResponse(verse, verseTranslations, features)))));
+                }
+            }
+        }
+    }
+
+    private VerseResponse getVerseResponse(Verse verse, Translation[] translations, boolean features) {
+        var tokens = verse.tokens();
+        var tokenResponses = new TokenResponse[tokens.length];
+        for (var i = 0; i < tokens.length; i++) {
+            tokenResponses[i] = tokenTransformer.getTokenResponse(tokens[i], features);
+        }
+
+        var location = verse.location();
+        var verseSequenceNumber = locationService.getVerseSequenceNumber(location);
+        TranslationResponse[] translationResponses = null;
+        if (translations != null) {
+            translationResponses = new TranslationResponse[translations.length];
+            for (var i = 0; i < translations.length; i++) {
+                translationResponses[i] = new TranslationResponse(
+                        translations[i].name(),
+                        translations[i].getVerse(verseSequenceNumber));
+            }
+        }
+
+        return new VerseResponse(
+                location.toArray(),
+                tokenResponses,
+                translationResponses,
+                orthographyService.getVerseMark(verseSequenceNumber));
+    }
+}
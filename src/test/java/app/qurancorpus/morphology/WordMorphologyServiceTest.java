@@ -0,0 +1,63 @@
+package app.qurancorpus.morphology;
+
+import app.qurancorpus.metrics.Metrics;
+import app.qurancorpus.orthography.Document;
+import app.qurancorpus.orthography.LocationService;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+@MicronautTest
+class WordMorphologyServiceTest {
+
+    @Inject
+    Document document;
+
+    @Inject
+    LocationService locationService;
+
+    @Inject
+    MorphologyGraph morphologyGraph;
+
+    @Inject
+    Metrics metrics;
+
+    @Test
+    void shouldMatchGeneratedMorphology() {
+        var tokenCount = document.tokenCount();
+        var wordMorphologyService = new WordMorphologyService(morphologyGraph, locationService, metrics, tokenCount);
+        wordMorphologyService.warmUp(tokenCount);
+
+        for (var chapter : document.children()) {
+            for (var verse : chapter.verses()) {
+                for (var token : verse.tokens()) {
+                    var expected = morphologyGraph.getWordMorphology(token);
+                    var actual = wordMorphologyService.getWordMorphology(token);
+                    assertThat(actual.summary(), is(equalTo(expected.summary())));
+                    assertThat(actual.segmentDescriptions(), is(equalTo(expected.segmentDescriptions())));
+                    assertThat(actual.arabicGrammar(), is(equalTo(expected.arabicGrammar())));
+                }
+            }
+        }
+
+        assertThat(wordMorphologyService.getCache().getMissCount(), is(equalTo((long) tokenCount)));
+        assertThat(wordMorphologyService.getCache().getHitCount(), is(equalTo((long) tokenCount)));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsed() {
+        var wordMorphologyService = new WordMorphologyService(morphologyGraph, locationService, metrics, 2);
+        wordMorphologyService.getWordMorphology(1);
+        wordMorphologyService.getWordMorphology(2);
+        wordMorphologyService.getWordMorphology(1);
+        wordMorphologyService.getWordMorphology(3);
+        wordMorphologyService.getWordMorphology(2);
+
+        assertThat(wordMorphologyService.getCache().getHitCount(), is(equalTo(1L)));
+        assertThat(wordMorphologyService.getCache().getMissCount(), is(equalTo(4L)));
+    }
+}
@@ -46,4 +46,26 @@ class LocationServiceTest {
                 () -> locationService.getTokenSequenceNumber(
                         new Location(55, 4, 3)));
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRejectTokenAsVerse() {
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> locationService.getVerseSequenceNumber(
+                        new Location(72, 26, 1)));
+    }
+
+    @Test
+    void shouldGetVerseLocation() {
+        assertThat(
+                locationService.getVerseLocation(5473),
+                is(equalTo(new Location(72, 26))));
+    }
+
+    @Test
+    void shouldGetTokenLocation() {
+        assertThat(
+                locationService.getTokenLocation(68545),
+                is(equalTo(new Location(55, 4, 2))));
+    }
+}
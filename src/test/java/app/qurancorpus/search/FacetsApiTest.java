@@ -0,0 +1,65 @@
+package app.qurancorpus.search;
+
+import app.qurancorpus.CorpusClient;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static io.micronaut.http.HttpStatus.BAD_REQUEST;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@MicronautTest
+class FacetsApiTest {
+
+    @Inject
+    CorpusClient client;
+
+    @Test
+    void shouldCountAllSegments() {
+        var response = client.getFacets(null, "pos");
+        assertThat(response.segmentCount(), is(equalTo(128223)));
+        assertThat(response.facets().length, is(equalTo(45)));
+        assertThat(response.facets()[0].value(), is(equalTo("ACC")));
+        assertThat(response.facets()[0].count(), is(equalTo(2283)));
+    }
+
+    @Test
+    void shouldCountByChapter() {
+        var response = client.getFacets(null, "chapter,pos");
+        assertThat(response.facets().length, is(equalTo(114)));
+        assertThat(response.facets()[0].value(), is(equalTo("1")));
+        assertThat(response.facets()[0].count(), is(equalTo(48)));
+        assertThat(response.facets()[0].facets()[0].value(), is(equalTo("ADJ")));
+        assertThat(response.facets()[0].facets()[0].count(), is(equalTo(5)));
+    }
+
+    @Test
+    void shouldCountFilteredSegments() {
+        var response = client.getFacets("pos:N,ADJ chapter:1", "pos");
+        assertThat(response.segmentCount(), is(equalTo(17)));
+        assertThat(response.facets()[0].value(), is(equalTo("ADJ")));
+        assertThat(response.facets()[0].count(), is(equalTo(5)));
+    }
+
+    @Test
+    void shouldRejectSparseFacet() {
+        var error = assertThrows(
+                HttpClientResponseException.class,
+                () -> client.getFacets("pos:V", "root"));
+
+        assertThat(error.getStatus(), is(equalTo(BAD_REQUEST)));
+    }
+
+    @Test
+    void shouldRejectMoreThanTwoFacets() {
+        var error = assertThrows(
+                HttpClientResponseException.class,
+                () -> client.getFacets(null, "pos,case,state"));
+
+        assertThat(error.getStatus(), is(equalTo(BAD_REQUEST)));
+    }
+}
@@ -0,0 +1,31 @@
+package app.qurancorpus.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class FacetsTest {
+
+    @Test
+    void shouldCountRangeWithinWord() {
+        var words = new long[]{-1L, -1L};
+        assertThat(Facets.count(words, null, null, 3, 10), is(equalTo(7)));
+    }
+
+    @Test
+    void shouldCountRangeAcrossWords() {
+        var words = new long[]{-1L, -1L, -1L};
+        assertThat(Facets.count(words, null, null, 60, 130), is(equalTo(70)));
+        assertThat(Facets.count(null, null, null, 0, 192), is(equalTo(192)));
+    }
+
+    @Test
+    void shouldCountIntersection() {
+        var a = new long[]{0b1111L, 1L};
+        var b = new long[]{0b1010L, 1L};
+        assertThat(Facets.count(a, b, null, 0, 128), is(equalTo(3)));
+        assertThat(Facets.count(a, b, null, 2, 64), is(equalTo(1)));
+    }
+}
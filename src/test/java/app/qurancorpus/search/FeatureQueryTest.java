@@ -0,0 +1,46 @@
+package app.qurancorpus.search;
+
+import app.qurancorpus.morphology.MorphologyGraph;
+import app.qurancorpus.orthography.Document;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static app.qurancorpus.morphology.AspectType.Imperfect;
+import static app.qurancorpus.morphology.PartOfSpeech.Verb;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+@MicronautTest
+class FeatureQueryTest {
+
+    @Inject
+    Document document;
+
+    @Inject
+    MorphologyGraph morphologyGraph;
+
+    @Inject
+    FeatureIndex featureIndex;
+
+    @Test
+    void shouldMatchCorpusScan() {
+        var count = 0;
+        for (var i = 1; i <= document.tokenCount(); i++) {
+            for (var segment : morphologyGraph.getSegments(i)) {
+                if (segment.getPartOfSpeech() == Verb && segment.getAspect() == Imperfect) {
+                    count++;
+                }
+            }
+        }
+        assertThat(FeatureQuery.evaluate(featureIndex, "pos:V aspect:IMPF").cardinality(), is(equalTo(count)));
+    }
+
+    @Test
+    void shouldMatchAllSegments() {
+        assertThat(
+                FeatureQuery.evaluate(featureIndex, null).cardinality(),
+                is(equalTo(featureIndex.getSegmentCount())));
+    }
+}
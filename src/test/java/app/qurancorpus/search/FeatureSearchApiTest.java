@@ -0,0 +1,64 @@
+package app.qurancorpus.search;
+
+import app.qurancorpus.CorpusClient;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static io.micronaut.http.HttpStatus.BAD_REQUEST;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@MicronautTest
+class FeatureSearchApiTest {
+
+    @Inject
+    CorpusClient client;
+
+    @Test
+    void shouldSearchVerbFeatures() {
+        var response = client.searchFeatures("pos:V aspect:IMPF voice:PASS form:IV chapter:2", 1);
+        assertThat(response.segmentCount(), is(equalTo(3)));
+        assertThat(response.tokenCount(), is(equalTo(3)));
+        assertThat(response.tokens()[0].location(), is(equalTo(new int[]{2, 162, 9})));
+    }
+
+    @Test
+    void shouldSearchRoots() {
+        var response = client.searchFeatures("root:ktb pos:V", 1);
+        assertThat(response.tokenCount(), is(equalTo(51)));
+        assertThat(response.tokens()[0].location(), is(equalTo(new int[]{2, 79, 3})));
+    }
+
+    @Test
+    void shouldNegateAndCombineValues() {
+        assertThat(client.searchFeatures("pos:V !voice:PASS", 1).tokenCount(), is(equalTo(18215)));
+        assertThat(client.searchFeatures("pos:N,ADJ chapter:1", 1).tokenCount(), is(equalTo(17)));
+    }
+
+    @Test
+    void shouldPageTokens() {
+        var response = client.searchFeatures("pos:V", 194);
+        assertThat(response.pageCount(), is(equalTo(194)));
+        assertThat(response.tokens().length, is(equalTo(56)));
+    }
+
+    @Test
+    void shouldGetEmptyPageAfterLast() {
+        var response = client.searchFeatures("pos:V", 30_000_000);
+        assertThat(response.tokenCount(), is(equalTo(19356)));
+        assertThat(response.tokens().length, is(equalTo(0)));
+    }
+
+    @Test
+    void shouldRejectUnknownFeature() {
+        var error = assertThrows(
+                HttpClientResponseException.class,
+                () -> client.searchFeatures("tense:PAST", 1));
+
+        assertThat(error.getStatus(), is(equalTo(BAD_REQUEST)));
+    }
+}
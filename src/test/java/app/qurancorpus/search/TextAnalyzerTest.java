@@ -0,0 +1,34 @@
+package app.qurancorpus.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+class TextAnalyzerTest {
+
+    @Test
+    void shouldStemVerbForms() {
+        assertThat(TextAnalyzer.stem("believes"), is(equalTo("believ")));
+        assertThat(TextAnalyzer.stem("believed"), is(equalTo("believ")));
+        assertThat(TextAnalyzer.stem("believing"), is(equalTo("believ")));
+        assertThat(TextAnalyzer.stem("stopped"), is(equalTo("stop")));
+    }
+
+    @Test
+    void shouldStemPlurals() {
+        assertThat(TextAnalyzer.stem("skies"), is(equalTo("sky")));
+        assertThat(TextAnalyzer.stem("days"), is(equalTo("day")));
+        assertThat(TextAnalyzer.stem("blessed"), is(equalTo("bless")));
+    }
+
+    @Test
+    void shouldAnalyzeText() {
+        var terms = TextAnalyzer.analyze("[All] praise is to Allah's Lord");
+        assertThat(terms.size(), is(equalTo(6)));
+        assertThat(terms.get(0), is(equalTo(new TextTerm("all", 1, 4))));
+        assertThat(terms.get(4), is(equalTo(new TextTerm("allah", 19, 26))));
+        assertThat(terms.get(5).term(), is(equalTo("lord")));
+    }
+}
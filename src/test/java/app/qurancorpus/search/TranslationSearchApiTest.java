@@ -0,0 +1,61 @@
+package app.qurancorpus.search;
+
+import app.qurancorpus.CorpusClient;
+import io.micronaut.http.client.exceptions.HttpClientResponseException;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static io.micronaut.http.HttpStatus.BAD_REQUEST;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@MicronautTest
+class TranslationSearchApiTest {
+
+    @Inject
+    CorpusClient client;
+
+    @Test
+    void shouldRankVerses() {
+        var response = client.searchTranslation("Moses Pharaoh", "sahih-international", 3);
+        assertThat(response.verseCount(), is(equalTo(228)));
+        assertThat(response.verses().length, is(equalTo(3)));
+        assertThat(response.verses()[0].location(), is(equalTo(new int[]{20, 49})));
+    }
+
+    @Test
+    void shouldMatchPhrases() {
+        var response = client.searchTranslation("\"straight path\"", "sahih-international", 10);
+        assertThat(response.verseCount(), is(equalTo(30)));
+        assertThat(response.verses()[1].location(), is(equalTo(new int[]{1, 6})));
+        assertThat(response.verses()[1].snippet(), is(equalTo("Guide us to the <em>straight</em> <em>path</em> -")));
+    }
+
+    @Test
+    void shouldEscapeSnippets() {
+        var response = client.searchTranslation("\"we are but reformers\"", "sahih-international", 1);
+        assertThat(response.verses()[0].location(), is(equalTo(new int[]{2, 11})));
+        assertThat(response.verses()[0].snippet(), is(equalTo(
+                "And when it is said to them, &quot;Do not cause corruption on the earth,&quot; they say, "
+                        + "&quot;<em>We</em> <em>are</em> <em>but</em> <em>reformers</em>.&quot;")));
+    }
+
+    @Test
+    void shouldSearchOtherTranslations() {
+        var response = client.searchTranslation("\"day of judgment\"", "yusuf-ali", 1);
+        assertThat(response.verseCount(), is(equalTo(79)));
+        assertThat(response.verses()[0].snippet(), is(equalTo("Master <em>of</em> the <em>Day</em> <em>of</em> <em>Judgment</em>.")));
+    }
+
+    @Test
+    void shouldRejectUnknownTranslation() {
+        var error = assertThrows(
+                HttpClientResponseException.class,
+                () -> client.searchTranslation("mercy", "unknown", 10));
+
+        assertThat(error.getStatus(), is(equalTo(BAD_REQUEST)));
+    }
+}
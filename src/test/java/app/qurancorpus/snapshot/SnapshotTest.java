@@ -0,0 +1,113 @@
+package app.qurancorpus.snapshot;
+
+import app.qurancorpus.lexicography.LemmaService;
+import app.qurancorpus.morphology.MorphologyGraph;
+import app.qurancorpus.morphology.segmentation.MorphologyWriter;
+import app.qurancorpus.orthography.Document;
+import app.qurancorpus.syntax.GraphWriter;
+import app.qurancorpus.syntax.SyntaxGraph;
+import app.qurancorpus.syntax.SyntaxService;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedWriter;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+
+import static app.qurancorpus.arabic.encoding.unicode.UnicodeEncoder.toUnicode;
+import static app.qurancorpus.snapshot.Snapshot.getSourceChecksum;
+import static java.nio.file.Files.readAllBytes;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@MicronautTest
+class SnapshotTest {
+
+    @Inject
+    Document document;
+
+    @Inject
+    MorphologyGraph morphologyGraph;
+
+    @Inject
+    SyntaxService syntaxService;
+
+    @Inject
+    LemmaService lemmaService;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @SneakyThrows
+    void shouldRoundTripSnapshot() {
+        var path = directory.resolve("snapshot.bin");
+        new SnapshotWriter(document, morphologyGraph, syntaxService.getGraphs()).write(path);
+        var reader = new CorpusSnapshot(path.toString()).getReader();
+        assertThat(reader, is(not(nullValue())));
+
+        // document
+        var snapshotDocument = reader.readDocument();
+        assertThat(snapshotDocument.verseCount(), is(equalTo(document.verseCount())));
+        assertThat(snapshotDocument.tokenCount(), is(equalTo(document.tokenCount())));
+        for (var chapter : document.children()) {
+            for (var verse : chapter.verses()) {
+                for (var token : verse.tokens()) {
+                    var snapshotToken = snapshotDocument.getToken(token.location());
+                    assertThat(snapshotToken.location(), is(equalTo(token.location())));
+                    assertThat(toUnicode(snapshotToken.arabicText()), is(equalTo(toUnicode(token.arabicText()))));
+                }
+            }
+        }
+
+        // morphology
+        var segments = reader.readSegments(snapshotDocument, lemmaService);
+        var writer = new MorphologyWriter();
+        var tokenIndex = 0;
+        for (var chapter : document.children()) {
+            for (var verse : chapter.verses()) {
+                for (var token : verse.tokens()) {
+                    assertThat(
+                            writer.write(segments[tokenIndex++]),
+                            is(equalTo(writer.write(morphologyGraph.query(token)))));
+                }
+            }
+        }
+
+        // syntax
+        assertThat(
+                writeGraphs(reader.readGraphs(snapshotDocument)),
+                is(equalTo(writeGraphs(syntaxService.getGraphs()))));
+    }
+
+    @Test
+    @SneakyThrows
+    void shouldRejectStaleSnapshot() {
+        var path = directory.resolve("snapshot.bin");
+        new SnapshotWriter(document, morphologyGraph, syntaxService.getGraphs()).write(path);
+        var buffer = ByteBuffer.wrap(readAllBytes(path));
+        assertThrows(
+                UnsupportedOperationException.class,
+                () -> new SnapshotReader(buffer, getSourceChecksum() + 1));
+    }
+
+    @Test
+    void shouldFallBackWhenSnapshotMissing() {
+        assertThat(new CorpusSnapshot(directory.resolve("missing.snapshot").toString()).getReader(), is(nullValue()));
+    }
+
+    @SneakyThrows
+    private static String writeGraphs(List<SyntaxGraph> graphs) {
+        var text = new StringWriter();
+        try (var writer = new GraphWriter(new BufferedWriter(text))) {
+            writer.writeGraphs(graphs);
+        }
+        return text.toString();
+    }
+}
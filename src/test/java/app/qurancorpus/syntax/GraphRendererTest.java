@@ -0,0 +1,136 @@
+package app.qurancorpus.syntax;
+
+import app.qurancorpus.morphology.TokenTransformer;
+import app.qurancorpus.orthography.Document;
+import app.qurancorpus.orthography.Location;
+import app.qurancorpus.orthography.LocationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micronaut.test.extensions.junit5.annotation.MicronautTest;
+import jakarta.inject.Inject;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static app.qurancorpus.arabic.encoding.unicode.UnicodeEncoder.toUnicode;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+@MicronautTest
+class GraphRendererTest {
+
+    @Inject
+    Document document;
+
+    @Inject
+    LocationService locationService;
+
+    @Inject
+    SyntaxService syntaxService;
+
+    @Inject
+    LegacyCorpusGraphMapper legacyCorpusGraphMapper;
+
+    @Inject
+    TokenTransformer tokenTransformer;
+
+    @Inject
+    GraphRenderer graphRenderer;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Test
+    @SneakyThrows
+    void shouldRenderSameJsonAsGraphResponse() {
+        var graphCount = syntaxService.getGraphs().size();
+        for (var graphSequenceNumber = 1; graphSequenceNumber <= graphCount; graphSequenceNumber++) {
+            var graphLocation = getGraphLocationResponse(graphSequenceNumber);
+            var location = new Location(
+                    graphLocation.location()[0],
+                    graphLocation.location()[1]);
+
+            var json = new String(graphRenderer.render(location, graphLocation.graphNumber()).toByteArray(), UTF_8);
+            var expected = objectMapper.writeValueAsString(getGraphResponse(
+                    graphSequenceNumber,
+                    graphLocation.graphNumber(),
+                    syntaxService.getGraphsForVerse(locationService.getVerseSequenceNumber(location)).size()));
+            assertThat(json, is(equalTo(expected)));
+        }
+    }
+
+    // Builds the response as SyntaxController did before graphs were pre-rendered.
+    private GraphResponse getGraphResponse(int graphSequenceNumber, int graphNumber, int graphCount) {
+        var graph = syntaxService.getGraphs().get(graphSequenceNumber - 1);
+        return new GraphResponse(
+                graphNumber,
+                graphCount,
+                legacyCorpusGraphMapper.getLegacyCorpusGraphNumber(graphSequenceNumber),
+                getGraphLocationResponse(graphSequenceNumber - 1),
+                getGraphLocationResponse(graphSequenceNumber + 1),
+                getWords(graph.getWords()),
+                getEdges(graph.getEdges()),
+                getPhraseNodes(graph));
+    }
+
+    private GraphLocationResponse getGraphLocationResponse(int graphSequenceNumber) {
+        var graphs = syntaxService.getGraphs();
+        if (graphSequenceNumber < 1 || graphSequenceNumber > graphs.size()) {
+            return null;
+        }
+        var tokenLocation = graphs.get(graphSequenceNumber - 1).getFirstToken().location();
+        var verse = document.getVerse(tokenLocation.chapterNumber(), tokenLocation.verseNumber());
+        var location = verse.location();
+        var verseSequenceNumber = locationService.getVerseSequenceNumber(location);
+        var graphSequenceNumbers = syntaxService.getGraphsForVerse(verseSequenceNumber);
+        var graphNumber = graphSequenceNumber - graphSequenceNumbers.get(0) + 1;
+        return new GraphLocationResponse(location.toArray(), graphNumber);
+    }
+
+    private WordResponse[] getWords(List<Word> words) {
+        var wordCount = words.size();
+        var wordResponses = new WordResponse[wordCount];
+        for (var i = 0; i < wordCount; i++) {
+            var word = words.get(i);
+            var token = word.token();
+            var elidedText = word.elidedText();
+            var elidedPartOfSpeech = word.elidedPartOfSpeech();
+            wordResponses[i] = new WordResponse(
+                    word.type(),
+                    token != null ? tokenTransformer.getTokenResponse(token, false) : null,
+                    elidedText != null ? toUnicode(elidedText) : null,
+                    elidedPartOfSpeech != null ? elidedPartOfSpeech.tag() : null,
+                    word.start(),
+                    word.end());
+        }
+        return wordResponses;
+    }
+
+    private EdgeResponse[] getEdges(List<Edge> edges) {
+        var edgeCount = edges.size();
+        var edgeResponses = new EdgeResponse[edgeCount];
+        for (var i = 0; i < edgeCount; i++) {
+            var edge = edges.get(i);
+            edgeResponses[i] = new EdgeResponse(
+                    edge.dependent().index(),
+                    edge.head().index(),
+                    edge.relation().tag());
+        }
+        return edgeResponses;
+    }
+
+    private PhraseNodeResponse[] getPhraseNodes(SyntaxGraph graph) {
+        var phraseCount = graph.getPhraseCount();
+        var phraseNodeResponses = new PhraseNodeResponse[phraseCount];
+        for (var i = 0; i < phraseCount; i++) {
+            var phraseNode = graph.getPhrase(i + 1);
+            phraseNodeResponses[i] = new PhraseNodeResponse(
+                    phraseNode.start().index(),
+                    phraseNode.end().index(),
+                    phraseNode.phraseType().tag());
+        }
+        return phraseNodeResponses;
+    }
+}
@@ -77,6 +77,17 @@ class SyntaxApiTest {
         assertThat(next.graphNumber(), is(equalTo(4)));
     }
 
+    @Test
+    void shouldOnlyGetSelectedFields() {
+        var graph = client.getSyntax(new Location(4, 79), 3, "phonetic");
+        assertThat(graph.edges().length, is(equalTo(5)));
+
+        var token = graph.words()[0].token();
+        assertThat(token.phonetic(), is(equalTo("wa-arsalnāka")));
+        assertThat(token.translation(), is(nullValue()));
+        assertThat(token.segments(), is(nullValue()));
+    }
+
     @Test
     void shouldGetGraphWithElidedWord() {
         var graph = client.getSyntax(new Location(70, 5), 1);
@@ -101,6 +112,18 @@ class SyntaxApiTest {
         assertThat(next.graphNumber(), is(equalTo(1)));
     }
 
+    @Test
+    void shouldGetLegacyCorpusGraph() {
+        var graph = client.getLegacyCorpusGraph(2553);
+        assertThat(graph.location(), is(equalTo(new int[]{4, 79})));
+        assertThat(graph.graphNumber(), is(equalTo(3)));
+    }
+
+    @Test
+    void shouldNotFindLegacyCorpusGraph() {
+        assertThat(client.getLegacyCorpusGraph(6968), is(nullValue()));
+    }
+
     @Test
     void shouldNotFindGraph() {
         assertThat(
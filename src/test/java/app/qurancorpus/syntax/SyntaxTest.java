@@ -164,6 +164,20 @@ class SyntaxTest {
         assertThat(legacyCorpusGraphMapper.getLegacyCorpusGraphNumber(lastGraphNumber), is(equalTo(6967)));
     }
 
+    @Test
+    void shouldGetGraphsForLegacyCorpusGraphNumbers() {
+        var graphCount = syntaxService.getGraphs().size();
+        for (var graphSequenceNumber = 1; graphSequenceNumber <= graphCount; graphSequenceNumber++) {
+            var legacyCorpusGraphNumber = legacyCorpusGraphMapper.getLegacyCorpusGraphNumber(graphSequenceNumber);
+            if (legacyCorpusGraphNumber != 0) {
+                assertThat(
+                        legacyCorpusGraphMapper.getGraphSequenceNumber(legacyCorpusGraphNumber),
+                        is(equalTo(graphSequenceNumber)));
+            }
+        }
+        assertThat(legacyCorpusGraphMapper.getGraphSequenceNumber(6968), is(equalTo(0)));
+    }
+
     @Test
     void shouldCountPrepositionPhrasesInTokens() {
         var n1 = 0;